@@ -0,0 +1,43 @@
+package benchmark;
+
+/**
+ * Base de um benchmark executado pelo {@link BenchmarkRunner}.
+ * Cada subclasse prepara seu estado em {@link #setUp(BenchmarkParams)} e mede
+ * uma única operação em {@link #run()}. O valor retornado por run() é
+ * acumulado pelo executor, impedindo que o JIT elimine o trabalho medido.
+ */
+public abstract class Benchmark {
+
+    /**
+     * @return nome exibido nos relatórios (ex: "tileDraw.cache")
+     */
+    public abstract String name();
+
+    /**
+     * @return true se o resultado varia com o tamanho do mundo
+     */
+    public boolean usesWorldSize() {
+        return false;
+    }
+
+    /**
+     * @return true se o resultado varia com a quantidade de objetos
+     */
+    public boolean usesObjectCount() {
+        return false;
+    }
+
+    /**
+     * Prepara o estado da medição para a combinação de parâmetros informada.
+     *
+     * @param params Parâmetros da execução
+     */
+    public abstract void setUp(BenchmarkParams params);
+
+    /**
+     * Executa uma operação medida.
+     *
+     * @return valor derivado do resultado (consumido pelo executor)
+     */
+    public abstract long run();
+}
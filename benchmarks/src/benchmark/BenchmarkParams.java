@@ -0,0 +1,10 @@
+package benchmark;
+
+/**
+ * Combinação de parâmetros de uma execução de benchmark.
+ *
+ * @param worldSize   Largura e altura do mundo gerado, em tiles
+ * @param objectCount Quantidade de objetos posicionados no mundo
+ */
+public record BenchmarkParams(int worldSize, int objectCount) {
+}
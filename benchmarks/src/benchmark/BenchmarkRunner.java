@@ -0,0 +1,218 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Executor dos benchmarks de desempenho do motor do jogo.
+ *
+ * Cada benchmark passa por iterações de aquecimento (para que o JIT compile o
+ * caminho medido) seguidas de iterações de medição de duração fixa. O
+ * resultado é o tempo médio por operação, com desvio padrão entre iterações.
+ * Benchmarks que dependem do tamanho do mundo ou da quantidade de objetos são
+ * repetidos para cada valor informado.
+ *
+ * Compilação e execução, a partir da raiz do projeto (onde está o
+ * config.properties):
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out $(find src -name "*.java") &amp;&amp; cp -r src/res out/
+ * javac -encoding UTF-8 -cp out -d bench-out $(find benchmarks/src -name "*.java")
+ * java -Djava.awt.headless=true -cp out:bench-out benchmark.BenchmarkRunner [opções]
+ * </pre>
+ *
+ * Opções (todas opcionais):
+ * <ul>
+ * <li>{@code --worldSizes=50,500,2000} tamanhos de mundo (em tiles)</li>
+ * <li>{@code --objectCounts=10,1000,10000} quantidades de objetos</li>
+ * <li>{@code --warmup=3} iterações de aquecimento</li>
+ * <li>{@code --iterations=5} iterações medidas</li>
+ * <li>{@code --iterationMillis=1000} duração de cada iteração</li>
+ * <li>{@code --filter=collision} executa apenas benchmarks cujo nome contém o
+ * texto</li>
+ * <li>{@code --out=bench.csv} grava os resultados em CSV</li>
+ * <li>{@code --baseline=anterior.csv} compara com um CSV gravado antes</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+    private static final long TARGET_BATCH_NANOS = 1_000_000; // Duração alvo de um lote entre leituras do relógio
+
+    private final Map<String, String> options = new HashMap<>();
+
+    // Acumula os resultados das operações para impedir eliminação de código morto
+    private long sink;
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        new BenchmarkRunner(args).runAll();
+    }
+
+    private BenchmarkRunner(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+    }
+
+    private void runAll() throws IOException {
+        int[] worldSizes = intList("worldSizes", "50,500,2000");
+        int[] objectCounts = intList("objectCounts", "10,1000,10000");
+        String filter = options.getOrDefault("filter", "");
+
+        List<String> csv = new ArrayList<>();
+        csv.add("benchmark,worldSize,objectCount,nsPerOp,stddev");
+
+        Map<String, Double> baseline = loadBaseline();
+
+        System.out.printf("%-24s %9s %9s %14s %10s %9s%n",
+                "benchmark", "world", "objects", "ns/op", "± stddev", "vs base");
+
+        for (Benchmark benchmark : Benchmarks.all()) {
+            if (!benchmark.name().contains(filter)) {
+                continue;
+            }
+
+            int[] sizes = benchmark.usesWorldSize() ? worldSizes : new int[] { worldSizes[0] };
+            int[] counts = benchmark.usesObjectCount() ? objectCounts : new int[] { 0 };
+
+            for (int size : sizes) {
+                for (int count : counts) {
+                    BenchmarkParams params = new BenchmarkParams(size, count);
+                    benchmark.setUp(params);
+                    double[] result = measure(benchmark);
+
+                    String key = benchmark.name() + "," + size + "," + count;
+                    Double previous = baseline.get(key);
+                    String delta = previous == null ? "" :
+                            String.format(Locale.ROOT, "%+.1f%%", (result[0] - previous) / previous * 100);
+
+                    System.out.printf(Locale.ROOT, "%-24s %9d %9d %14.1f %10.1f %9s%n",
+                            benchmark.name(), size, count, result[0], result[1], delta);
+                    csv.add(String.format(Locale.ROOT, "%s,%.3f,%.3f", key, result[0], result[1]));
+                }
+            }
+        }
+
+        String out = options.get("out");
+        if (out != null) {
+            Files.write(Path.of(out), csv, StandardCharsets.UTF_8);
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    /**
+     * Mede um benchmark já preparado.
+     *
+     * @return [0] média de nanossegundos por operação; [1] desvio padrão
+     */
+    private double[] measure(Benchmark benchmark) {
+        int warmup = intOption("warmup", 3);
+        int iterations = intOption("iterations", 5);
+        long iterationNanos = intOption("iterationMillis", 1000) * 1_000_000L;
+
+        int batch = calibrate(benchmark);
+
+        for (int i = 0; i < warmup; i++) {
+            runIteration(benchmark, batch, iterationNanos);
+        }
+
+        double[] samples = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            samples[i] = runIteration(benchmark, batch, iterationNanos);
+        }
+
+        double mean = 0;
+        for (double sample : samples) {
+            mean += sample;
+        }
+        mean /= iterations;
+
+        double variance = 0;
+        for (double sample : samples) {
+            variance += (sample - mean) * (sample - mean);
+        }
+        return new double[] { mean, Math.sqrt(variance / iterations) };
+    }
+
+    /**
+     * Determina quantas operações executar entre leituras do relógio para que o
+     * custo de System.nanoTime() não distorça operações muito curtas.
+     */
+    private int calibrate(Benchmark benchmark) {
+        int batch = 1;
+        while (batch < (1 << 24)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                sink += benchmark.run();
+            }
+            if (System.nanoTime() - start >= TARGET_BATCH_NANOS) {
+                break;
+            }
+            batch *= 2;
+        }
+        return batch;
+    }
+
+    /**
+     * @return nanossegundos médios por operação na iteração
+     */
+    private double runIteration(Benchmark benchmark, int batch, long iterationNanos) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+
+        do {
+            for (int i = 0; i < batch; i++) {
+                sink += benchmark.run();
+            }
+            operations += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+
+        return (double) elapsed / operations;
+    }
+
+    /**
+     * Lê um CSV gravado anteriormente com --out, indexado por
+     * "benchmark,worldSize,objectCount".
+     */
+    private Map<String, Double> loadBaseline() throws IOException {
+        Map<String, Double> baseline = new HashMap<>();
+        String path = options.get("baseline");
+        if (path == null) {
+            return baseline;
+        }
+
+        List<String> lines = Files.readAllLines(Path.of(path), StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",");
+            baseline.put(fields[0] + "," + fields[1] + "," + fields[2], Double.parseDouble(fields[3]));
+        }
+        return baseline;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private int[] intList(String name, String defaultValue) {
+        String[] parts = options.getOrDefault(name, defaultValue).split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,460 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import ai.FlowField;
+import ai.PathService;
+import entity.EntityStore;
+import main.Camera;
+import main.Config;
+import main.GameWorld;
+import main.ScriptedInput;
+import tile.TileManager;
+import tile.TileRegistry;
+import tile.TileRenderMode;
+import utils.AssetManager;
+import utils.AtlasRegion;
+import utils.Direction;
+import utils.SpriteAtlas;
+import utils.SpriteLoader;
+import utils.TileLoader;
+
+/**
+ * Benchmarks dos caminhos críticos da simulação e da renderização.
+ */
+final class Benchmarks {
+
+    private static final int CAMERA_POSITIONS = 256;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * @return todos os benchmarks disponíveis, na ordem de execução
+     */
+    static List<Benchmark> all() {
+        return List.of(
+                new TileDraw(TileRenderMode.DIRECT),
+                new TileDraw(TileRenderMode.CACHE),
+                new TileDraw(TileRenderMode.PARALLEL),
+                new CheckTile(),
+                new CheckObject(),
+                new PlayerUpdate(),
+                new EntityUpdate(1),
+                new EntityUpdate(0),
+                new FindPath(),
+                new FlowFieldRebuild(),
+                new LoadMap(),
+                new LoadTiles(true),
+                new LoadTiles(false),
+                new LoadSprites(true),
+                new LoadSprites(false));
+    }
+
+    /**
+     * TileManager.draw em uma imagem fora da tela, com a câmera percorrendo
+     * posições aleatórias do mundo.
+     */
+    static final class TileDraw extends Benchmark {
+        private final TileRenderMode mode;
+        private GameWorld world;
+        private Camera camera;
+        private Graphics2D g2;
+        private int[] positions;
+        private int next;
+
+        TileDraw(TileRenderMode mode) {
+            this.mode = mode;
+        }
+
+        @Override
+        public String name() {
+            return "tileDraw." + mode.name().toLowerCase();
+        }
+
+        @Override
+        public boolean usesWorldSize() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            Config.RENDER_TILE_MODE = mode;
+            world = Worlds.generateWorld(new BenchmarkParams(params.worldSize(), 0), Worlds.IDLE);
+            camera = new Camera();
+            BufferedImage target = new BufferedImage(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT,
+                    BufferedImage.TYPE_INT_RGB);
+            g2 = target.createGraphics();
+
+            // Deslocamentos curtos entre posições próximas, como em um jogo real
+            Random random = new Random(Worlds.SEED);
+            int limit = params.worldSize() * Config.TILE_SIZE;
+            positions = new int[CAMERA_POSITIONS * 2];
+            int x = limit / 2, y = limit / 2;
+            for (int i = 0; i < CAMERA_POSITIONS; i++) {
+                x = Math.floorMod(x + random.nextInt(9) - 4, limit);
+                y = Math.floorMod(y + random.nextInt(9) - 4, limit);
+                positions[i * 2] = x;
+                positions[i * 2 + 1] = y;
+            }
+        }
+
+        @Override
+        public long run() {
+            int i = (next++ % CAMERA_POSITIONS) * 2;
+            world.player.worldX = positions[i];
+            world.player.worldY = positions[i + 1];
+            world.player.capturePreviousPosition();
+            camera.follow(world.player);
+            world.getTileManager().draw(g2, camera);
+            return camera.getWorldX();
+        }
+    }
+
+    /**
+     * CollisionChecker.checkTile nas quatro direções.
+     */
+    static final class CheckTile extends Benchmark {
+        private GameWorld world;
+        private int next;
+
+        @Override
+        public String name() {
+            return "collision.checkTile";
+        }
+
+        @Override
+        public boolean usesWorldSize() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            world = Worlds.generateWorld(new BenchmarkParams(params.worldSize(), 0), Worlds.IDLE);
+        }
+
+        @Override
+        public long run() {
+            world.player.direction = Direction.values()[next++ & 3];
+            world.player.collisionOn = false;
+            world.collisionChecker.checkTile(world.player);
+            return world.player.collisionOn ? 1 : 0;
+        }
+    }
+
+    /**
+     * CollisionChecker.checkObject contra todos os objetos do mundo.
+     */
+    static final class CheckObject extends Benchmark {
+        private GameWorld world;
+        private int next;
+
+        @Override
+        public String name() {
+            return "collision.checkObject";
+        }
+
+        @Override
+        public boolean usesWorldSize() {
+            return true;
+        }
+
+        @Override
+        public boolean usesObjectCount() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            world = Worlds.generateWorld(params, Worlds.IDLE);
+        }
+
+        @Override
+        public long run() {
+            world.player.direction = Direction.values()[next++ & 3];
+            return world.collisionChecker.checkObject(world.player, true);
+        }
+    }
+
+    /**
+     * Player.update (via GameWorld.update) com entrada roteirizada.
+     */
+    static final class PlayerUpdate extends Benchmark {
+        private GameWorld world;
+        private ScriptedInput input;
+
+        @Override
+        public String name() {
+            return "player.update";
+        }
+
+        @Override
+        public boolean usesWorldSize() {
+            return true;
+        }
+
+        @Override
+        public boolean usesObjectCount() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            input = new ScriptedInput("MOVE_UP:48,MOVE_LEFT:48,MOVE_DOWN:48,MOVE_RIGHT:48,NONE:12");
+            world = Worlds.generateWorld(params, input);
+        }
+
+        @Override
+        public long run() {
+            world.update();
+            input.advance();
+            return world.player.worldX;
+        }
+    }
+
+    /**
+     * GameWorld.update com NPCs andando no EntityStore (um por objeto pedido),
+     * que mudam de direção a cada tile percorrido.
+     */
+    static final class EntityUpdate extends Benchmark {
+        private static final Direction[] DIRECTIONS = Direction.values();
+
+        private final int threads;
+        private GameWorld world;
+        private int[] walkers;
+        private int next;
+
+        /**
+         * @param threads Threads do cálculo dos movimentos (0 = uma por processador)
+         */
+        EntityUpdate(int threads) {
+            this.threads = threads;
+        }
+
+        @Override
+        public String name() {
+            return threads == 1 ? "entities.update.sequential" : "entities.update.parallel";
+        }
+
+        @Override
+        public boolean usesWorldSize() {
+            return true;
+        }
+
+        @Override
+        public boolean usesObjectCount() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            Config.ENTITIES_PARALLEL_THREADS = threads;
+            world = Worlds.generateWorld(new BenchmarkParams(params.worldSize(), 0), Worlds.IDLE);
+            walkers = Worlds.spawnWalkers(world, params.objectCount());
+        }
+
+        @Override
+        public long run() {
+            if (++next % Config.TILE_SIZE == 0) {
+                EntityStore entities = world.getEntities();
+                for (int handle : walkers) {
+                    Direction turned = DIRECTIONS[(entities.getDirection(handle).ordinal() + 1) & 3];
+                    entities.setVelocity(handle, turned, 1, true);
+                }
+            }
+            world.update();
+            return world.getEntities().size();
+        }
+    }
+
+    /**
+     * PathService.findPath entre pares aleatórios de tiles, sem cache (cada
+     * consulta é uma busca completa).
+     */
+    static final class FindPath extends Benchmark {
+        private static final int PAIRS = 256;
+
+        private PathService paths;
+        private int[] pairs;
+        private int next;
+
+        @Override
+        public String name() {
+            return "path.find";
+        }
+
+        @Override
+        public boolean usesWorldSize() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            GameWorld world = Worlds.generateWorld(new BenchmarkParams(params.worldSize(), 0), Worlds.IDLE);
+            TileManager tiles = world.getTileManager();
+            paths = new PathService(tiles, 1, 1, Config.PATH_CLUSTER_SIZE, 1);
+
+            // Pares caminháveis a até 100 tiles de distância em cada eixo
+            Random random = new Random(Worlds.SEED);
+            int size = params.worldSize();
+            pairs = new int[PAIRS * 4];
+            for (int i = 0; i < pairs.length; i += 2) {
+                int col, row;
+                do {
+                    int centerCol = i % 4 == 0 ? random.nextInt(size) : pairs[i - 2];
+                    int centerRow = i % 4 == 0 ? random.nextInt(size) : pairs[i - 1];
+                    col = Math.floorMod(centerCol + random.nextInt(201) - 100, size);
+                    row = Math.floorMod(centerRow + random.nextInt(201) - 100, size);
+                } while (tiles.isSolid(col, row));
+                pairs[i] = col;
+                pairs[i + 1] = row;
+            }
+        }
+
+        @Override
+        public long run() {
+            int i = (next++ % PAIRS) * 4;
+            int[] path = paths.findPath(pairs[i], pairs[i + 1], pairs[i + 2], pairs[i + 3]);
+            return path == null ? 0 : path.length;
+        }
+    }
+
+    /**
+     * Consulta ao FlowField com o alvo alternando entre dois tiles vizinhos (um
+     * recálculo completo da janela por operação).
+     */
+    static final class FlowFieldRebuild extends Benchmark {
+        private FlowField field;
+        private int center;
+        private int next;
+
+        @Override
+        public String name() {
+            return "flowField.rebuild";
+        }
+
+        @Override
+        public boolean usesWorldSize() {
+            return true;
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            GameWorld world = Worlds.generateWorld(new BenchmarkParams(params.worldSize(), 0), Worlds.IDLE);
+            field = new FlowField(world.getTileManager());
+            center = params.worldSize() / 2;
+        }
+
+        @Override
+        public long run() {
+            field.setTarget(center + (next++ & 1), center);
+            return field.distanceAt(center, center); // A consulta recalcula o campo
+        }
+    }
+
+    /**
+     * TileManager.loadMap do mapa padrão.
+     */
+    static final class LoadMap extends Benchmark {
+        private TileManager tileManager;
+
+        @Override
+        public String name() {
+            return "tileManager.loadMap";
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            tileManager = new TileManager();
+        }
+
+        @Override
+        public long run() {
+            tileManager.loadMap(Config.MAP_DEFAULT_PATH);
+            return tileManager.getTileNumber(0, 0);
+        }
+    }
+
+    /**
+     * Base dos benchmarks dos carregadores de recursos.
+     *
+     * A frio, cada operação descarta as imagens em memória do
+     * {@link AssetManager} e desliga o cache em disco, medindo a leitura dos
+     * JSON e a decodificação dos PNG. A quente, mede o caminho das execuções
+     * seguintes, em que as imagens já estão em memória.
+     */
+    abstract static class AssetLoad extends Benchmark {
+        private static final boolean DISK_CACHE = Config.ASSETS_CACHE_ENABLED; // Valor configurado
+
+        private final boolean cold;
+
+        AssetLoad(boolean cold) {
+            this.cold = cold;
+        }
+
+        String variant() {
+            return cold ? ".cold" : ".warm";
+        }
+
+        @Override
+        public void setUp(BenchmarkParams params) {
+            Config.ASSETS_CACHE_ENABLED = !cold && DISK_CACHE;
+        }
+
+        @Override
+        public long run() {
+            if (cold) {
+                AssetManager.evictImages();
+            }
+            return load();
+        }
+
+        abstract long load();
+    }
+
+    /**
+     * TileLoader.loadTiles (JSON + imagens + atlas).
+     */
+    static final class LoadTiles extends AssetLoad {
+        LoadTiles(boolean cold) {
+            super(cold);
+        }
+
+        @Override
+        public String name() {
+            return "assets.loadTiles" + variant();
+        }
+
+        @Override
+        long load() {
+            TileRegistry tiles = TileLoader.loadTiles(Config.TILE_CONFIG_PATH, Config.TILE_IMAGE_BASE,
+                    new SpriteAtlas(Config.SCALE));
+            return tiles.size();
+        }
+    }
+
+    /**
+     * SpriteLoader.loadSprites dos quadros do jogador.
+     */
+    static final class LoadSprites extends AssetLoad {
+        LoadSprites(boolean cold) {
+            super(cold);
+        }
+
+        @Override
+        public String name() {
+            return "assets.loadSprites" + variant();
+        }
+
+        @Override
+        long load() {
+            Map<String, AtlasRegion[]> sprites = SpriteLoader.loadSprites("/res/player/player_sprites.json",
+                    "/res/player/", new SpriteAtlas(Config.SCALE));
+            return sprites.size();
+        }
+    }
+}
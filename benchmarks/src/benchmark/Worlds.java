@@ -0,0 +1,115 @@
+package benchmark;
+
+import java.util.Random;
+
+import entity.EntityStore;
+import main.Config;
+import main.GameEvents;
+import main.GameWorld;
+import main.InputSource;
+import objects.OBJ_Key;
+import objects.SuperObject;
+import tile.TileManager;
+import utils.Direction;
+import utils.SoundType;
+
+/**
+ * Geração determinística dos mundos usados pelos benchmarks.
+ */
+final class Worlds {
+
+    static final long SEED = 42L;
+
+    /** Eventos da simulação descartados durante as medições. */
+    static final GameEvents NO_EVENTS = new GameEvents() {
+        @Override
+        public void playSE(SoundType type) {
+        }
+
+        @Override
+        public void stopMusic() {
+        }
+
+        @Override
+        public void showMessage(String text) {
+        }
+
+        @Override
+        public void finishGame() {
+        }
+    };
+
+    private Worlds() {
+    }
+
+    /**
+     * Cria um mapa quadrado em que a maior parte dos tiles é caminhável (grama),
+     * com tiles sortidos (incluindo sólidos) espalhados.
+     */
+    static TileManager generateMap(int size) {
+        TileManager tileManager = new TileManager(size, size);
+        Random random = new Random(SEED);
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int tile = random.nextInt(5) == 0 ? random.nextInt(6) : 0;
+                tileManager.setTileNumber(col, row, tile);
+            }
+        }
+        return tileManager;
+    }
+
+    /** Entrada sem nenhuma ação ativa. */
+    static final InputSource IDLE = action -> false;
+
+    /**
+     * Cria uma simulação sobre um mapa gerado, com o jogador no centro e
+     * objetos inertes (sem efeito ao serem tocados) em posições aleatórias.
+     */
+    static GameWorld generateWorld(BenchmarkParams params, InputSource input) {
+        int size = params.worldSize();
+        GameWorld world = new GameWorld(NO_EVENTS, input, generateMap(size));
+
+        world.player.worldX = size / 2 * Config.TILE_SIZE;
+        world.player.worldY = size / 2 * Config.TILE_SIZE;
+        world.player.capturePreviousPosition();
+
+        // Um único objeto real fornece a imagem; os demais a compartilham
+        SuperObject prototype = new OBJ_Key();
+        Random random = new Random(SEED);
+        for (int i = 0; i < params.objectCount(); i++) {
+            SuperObject prop = new SuperObject();
+            prop.name = "Prop";
+            prop.image = prototype.image;
+            prop.worldX = random.nextInt(size) * Config.TILE_SIZE;
+            prop.worldY = random.nextInt(size) * Config.TILE_SIZE;
+            world.addObject(prop);
+        }
+        return world;
+    }
+
+    /**
+     * Posiciona NPCs andando no {@link EntityStore} do mundo, em posições e
+     * direções aleatórias, com área sólida e coleta de itens.
+     *
+     * @return handles das entidades criadas
+     */
+    static int[] spawnWalkers(GameWorld world, int count) {
+        int size = world.getTileManager().getMaxWorldCol();
+        EntityStore entities = world.getEntities();
+        Random random = new Random(SEED);
+        Direction[] directions = Direction.values();
+
+        int[] handles = new int[count];
+        for (int i = 0; i < count; i++) {
+            int handle = entities.create(EntityStore.POSITION | EntityStore.VELOCITY | EntityStore.HITBOX
+                    | EntityStore.COLLECTOR);
+            entities.setPosition(handle, random.nextInt(size) * Config.TILE_SIZE,
+                    random.nextInt(size) * Config.TILE_SIZE);
+            entities.setVelocity(handle, directions[random.nextInt(directions.length)], 1, true);
+            entities.setHitbox(handle, 8, 16, 32, 32);
+            handles[i] = handle;
+        }
+        return handles;
+    }
+}
@@ -0,0 +1,224 @@
+package ai;
+
+import java.util.Arrays;
+
+import main.Config;
+import tile.TileChangeListener;
+import tile.TileManager;
+import utils.Direction;
+
+/**
+ * Campo de fluxo em direção a um alvo (normalmente o jogador), para que
+ * qualquer quantidade de agentes o persiga sem uma busca de caminho cada.
+ *
+ * Uma busca em largura a partir do tile do alvo calcula a distância (em passos
+ * de 4 direções, contornando os tiles sólidos) de cada tile de uma janela
+ * quadrada de raio {@code flowfield.radius} ao redor dele, e guarda para cada
+ * tile a direção do vizinho mais próximo do alvo. Consultar a próxima direção
+ * de um agente é então uma única leitura de vetor.
+ *
+ * O recálculo é preguiçoso: {@link #setTarget} e as alterações de tiles
+ * apenas marcam o campo, e a busca roda na primeira consulta seguinte, e só
+ * se o alvo mudou de tile ou um tile da janela foi alterado. Enquanto ninguém
+ * consulta o campo, ele não custa nada ao tick; a janela limita o custo de
+ * cada recálculo independentemente do tamanho do mapa. Fora da janela as
+ * consultas não dão direção, e cabe a quem consulta usar o
+ * {@link PathService}.
+ *
+ * Deve ser usado apenas pela thread da simulação.
+ */
+public class FlowField implements TileChangeListener {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final byte NONE = -1;
+    private static final int UNREACHED = -1;
+    private static final int BLOCKED = -2; // Tile sólido, já consultado
+
+    private final TileManager tiles;
+    private final int radius;
+    private final int side; // Lado máximo da janela, em tiles
+
+    // Janela atual, em tiles do mapa (já recortada pelas bordas do mundo)
+    private int originCol, originRow;
+    private int width, height;
+
+    // Por tile da janela (linha a linha): distância até o alvo e direção a seguir
+    private final int[] distance;
+    private final byte[] direction;
+    private final int[] queue;
+
+    private int targetCol = -1, targetRow = -1; // Alvo do campo calculado
+    private int pendingCol = -1, pendingRow = -1; // Alvo a ser aplicado no próximo update
+    private boolean dirty = false;
+
+    public FlowField(TileManager tiles) {
+        this(tiles, Config.FLOWFIELD_RADIUS);
+    }
+
+    /**
+     * @param tiles  Mapa sobre o qual o campo é calculado
+     * @param radius Raio da janela ao redor do alvo, em tiles
+     */
+    public FlowField(TileManager tiles, int radius) {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Raio do campo de fluxo inválido: " + radius);
+        }
+        this.tiles = tiles;
+        this.radius = radius;
+        this.side = radius * 2 + 1;
+        this.distance = new int[side * side];
+        this.direction = new byte[side * side];
+        this.queue = new int[side * side];
+    }
+
+    /**
+     * Define o tile do alvo. O campo é recalculado na próxima consulta apenas
+     * se o tile mudou.
+     *
+     * @param col coluna do alvo
+     * @param row linha do alvo
+     */
+    public void setTarget(int col, int row) {
+        pendingCol = col;
+        pendingRow = row;
+    }
+
+    /**
+     * @param col coluna do agente
+     * @param row linha do agente
+     * @return direção do próximo passo rumo ao alvo, ou null se o agente já
+     *         estiver no alvo, fora da janela ou sem caminho até ele
+     */
+    public Direction directionAt(int col, int row) {
+        refresh();
+        int index = indexOf(col, row);
+        if (index < 0 || direction[index] == NONE) {
+            return null;
+        }
+        return DIRECTIONS[direction[index]];
+    }
+
+    /**
+     * @param col coluna do agente
+     * @param row linha do agente
+     * @return passos até o alvo, ou -1 se o agente estiver fora da janela ou sem
+     *         caminho até ele
+     */
+    public int distanceAt(int col, int row) {
+        refresh();
+        int index = indexOf(col, row);
+        return index < 0 || distance[index] < 0 ? UNREACHED : distance[index];
+    }
+
+    @Override
+    public void tileChanged(int col, int row) {
+        if (indexOf(col, row) >= 0) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void mapChanged() {
+        targetCol = targetRow = -1;
+        width = height = 0;
+    }
+
+    /**
+     * Recalcula o campo se o alvo mudou de tile ou se a janela foi alterada.
+     */
+    private void refresh() {
+        if (pendingCol < 0 || (!dirty && pendingCol == targetCol && pendingRow == targetRow)) {
+            return;
+        }
+        rebuild(pendingCol, pendingRow);
+    }
+
+    private int indexOf(int col, int row) {
+        int x = col - originCol;
+        int y = row - originRow;
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return -1;
+        }
+        return y * width + x;
+    }
+
+    /**
+     * Busca em largura a partir do alvo, seguida da escolha da direção de cada
+     * tile alcançado.
+     */
+    private void rebuild(int col, int row) {
+        targetCol = col;
+        targetRow = row;
+        dirty = false;
+
+        int cols = tiles.getMaxWorldCol();
+        int rows = tiles.getMaxWorldRow();
+        if (col < 0 || row < 0 || col >= cols || row >= rows) {
+            width = height = 0;
+            return;
+        }
+        originCol = Math.max(0, col - radius);
+        originRow = Math.max(0, row - radius);
+        width = Math.min(cols, col + radius + 1) - originCol;
+        height = Math.min(rows, row + radius + 1) - originRow;
+        int cells = width * height;
+        Arrays.fill(distance, 0, cells, UNREACHED);
+        Arrays.fill(direction, 0, cells, NONE);
+        if (tiles.isSolid(col, row)) {
+            return;
+        }
+
+        int head = 0, tail = 0;
+        int start = (row - originRow) * width + (col - originCol);
+        distance[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int y = cell / width;
+            int next = distance[cell] + 1;
+            if (y > 0) {
+                tail = visit(cell - width, x, y - 1, next, tail);
+            }
+            if (y < height - 1) {
+                tail = visit(cell + width, x, y + 1, next, tail);
+            }
+            if (x > 0) {
+                tail = visit(cell - 1, x - 1, y, next, tail);
+            }
+            if (x < width - 1) {
+                tail = visit(cell + 1, x + 1, y, next, tail);
+            }
+        }
+
+        // Direção de cada tile: o primeiro vizinho (na ordem de Direction) um passo mais perto
+        for (int i = 1; i < tail; i++) {
+            int cell = queue[i];
+            int x = cell % width;
+            int y = cell / width;
+            int closer = distance[cell] - 1;
+            if (y > 0 && distance[cell - width] == closer) {
+                direction[cell] = (byte) Direction.UP.ordinal();
+            } else if (y < height - 1 && distance[cell + width] == closer) {
+                direction[cell] = (byte) Direction.DOWN.ordinal();
+            } else if (x > 0 && distance[cell - 1] == closer) {
+                direction[cell] = (byte) Direction.LEFT.ordinal();
+            } else {
+                direction[cell] = (byte) Direction.RIGHT.ordinal();
+            }
+        }
+    }
+
+    private int visit(int cell, int x, int y, int value, int tail) {
+        if (distance[cell] != UNREACHED) {
+            return tail;
+        }
+        if (tiles.isSolid(originCol + x, originRow + y)) {
+            distance[cell] = BLOCKED;
+            return tail;
+        }
+        distance[cell] = value;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+}
@@ -0,0 +1,513 @@
+package ai;
+
+import java.util.Arrays;
+
+import utils.IntList;
+
+/**
+ * Busca de caminhos em 4 direções sobre o mapa de tiles, em dois níveis.
+ *
+ * <ol>
+ * <li>A* no grafo de regiões do {@link RegionMap}: descarta destinos
+ * inalcançáveis sem percorrer o mapa e escolhe os grupos por onde o caminho
+ * passa.</li>
+ * <li>A* com Jump Point Search sobre os tiles, restrito ao corredor formado por
+ * esses grupos e seus vizinhos: em vez de abrir cada tile, a busca salta em
+ * linha reta e só cria nós nos pontos em que um desvio pode ser necessário
+ * (vizinhos forçados por obstáculos, ou o destino).</li>
+ * </ol>
+ * O caminho devolvido é ótimo dentro do corredor, o que na prática fica muito
+ * próximo do ótimo global.
+ *
+ * Uma instância não é thread-safe: cada thread de busca deve ter a sua. Os
+ * conjuntos aberto e fechado são vetores primitivos reaproveitados entre as
+ * consultas e limpos por carimbo, sem alocação por busca.
+ */
+final class GridPathfinder {
+
+    final RegionMap map;
+
+    private final SearchSpace regions = new SearchSpace();
+    private final SearchSpace cells = new SearchSpace();
+
+    // Grupos do corredor da busca atual, marcados com o carimbo da busca, e
+    // seus rótulos: a busca nos tiles consulta apenas esses vetores
+    private final int[] corridor;
+    private final short[][] corridorLabels;
+    private int corridorStamp = 0;
+
+    private final IntList jumpPoints = new IntList();
+
+    // Destino da busca atual
+    private int goalCol, goalRow;
+
+    GridPathfinder(RegionMap map) {
+        this.map = map;
+        this.corridor = new int[map.clusterCols * map.clusterRows];
+        this.corridorLabels = new short[corridor.length][];
+    }
+
+    /**
+     * Procura um caminho entre dois tiles.
+     *
+     * @return posições de cada tile do caminho, do início ao destino (inclusive),
+     *         intercaladas como {@code col0, row0, col1, row1, ...}; ou null se
+     *         não houver caminho
+     */
+    int[] findPath(int startCol, int startRow, int goalCol, int goalRow) {
+        if (!map.isWalkable(startCol, startRow) || !map.isWalkable(goalCol, goalRow)) {
+            return null;
+        }
+        if (startCol == goalCol && startRow == goalRow) {
+            return new int[] { startCol, startRow };
+        }
+        this.goalCol = goalCol;
+        this.goalRow = goalRow;
+
+        if (!markCorridor(startCol, startRow, goalCol, goalRow)) {
+            return null;
+        }
+        return searchCells(startCol, startRow);
+    }
+
+    // ================
+    // Nível abstrato: regiões
+    // ================
+
+    /**
+     * Busca no grafo de regiões e marca o corredor de grupos do caminho.
+     *
+     * @return false se o destino for inalcançável
+     */
+    private boolean markCorridor(int startCol, int startRow, int goalCol, int goalRow) {
+        int startRegion = map.regionOf(startCol, startRow);
+        int goalRegion = map.regionOf(goalCol, goalRow);
+        if (startRegion == RegionMap.SOLID || goalRegion == RegionMap.SOLID) {
+            // O tile mudou depois da verificação em findPath: sem caminho nesta
+            // busca, e o PathService a refaz ao notar a alteração do mapa
+            return false;
+        }
+        int startKey = regionKey(map.clusterOf(startCol, startRow), startRegion);
+        int goalKey = regionKey(map.clusterOf(goalCol, goalRow), goalRegion);
+        int goalCluster = goalKey >>> 10;
+
+        SearchSpace s = regions;
+        s.reset();
+        int start = s.node(startKey);
+        s.g[start] = 0;
+        s.h[start] = clusterDistance(startKey >>> 10, goalCluster);
+        s.push(start, s.h[start]);
+
+        int found = -1;
+        int node;
+        while ((node = s.pop()) >= 0) {
+            if (s.key[node] == goalKey) {
+                found = node;
+                break;
+            }
+            s.closed[node] = true;
+            expandRegion(node, goalCluster);
+        }
+        if (found < 0) {
+            return false;
+        }
+
+        if (++corridorStamp == 0) {
+            Arrays.fill(corridor, 0);
+            corridorStamp = 1;
+        }
+        for (int n = found; n >= 0; n = s.parent[n]) {
+            markWithNeighbors(s.key[n] >>> 10);
+        }
+        return true;
+    }
+
+    /**
+     * Relaxa as regiões adjacentes, procurando pares de tiles caminháveis nas
+     * quatro fronteiras do grupo.
+     */
+    private void expandRegion(int node, int goalCluster) {
+        SearchSpace s = regions;
+        int cluster = s.key[node] >>> 10;
+        int region = s.key[node] & 1023;
+        int size = map.clusterSize;
+        int cx = cluster % map.clusterCols;
+        int cy = cluster / map.clusterCols;
+        int originCol = cx * size;
+        int originRow = cy * size;
+        int width = Math.min(size, map.cols - originCol);
+        int height = Math.min(size, map.rows - originRow);
+        short[] labels = map.cluster(cluster).labels;
+
+        if (cy > 0) {
+            short[] other = map.cluster(cluster - map.clusterCols).labels;
+            for (int x = 0; x < width; x++) {
+                if (labels[x] == region && other[(size - 1) * size + x] != RegionMap.SOLID) {
+                    relaxRegion(node, regionKey(cluster - map.clusterCols, other[(size - 1) * size + x]), goalCluster);
+                }
+            }
+        }
+        if (cy < map.clusterRows - 1 && height == size) {
+            short[] other = map.cluster(cluster + map.clusterCols).labels;
+            for (int x = 0; x < width; x++) {
+                if (labels[(size - 1) * size + x] == region && other[x] != RegionMap.SOLID) {
+                    relaxRegion(node, regionKey(cluster + map.clusterCols, other[x]), goalCluster);
+                }
+            }
+        }
+        if (cx > 0) {
+            short[] other = map.cluster(cluster - 1).labels;
+            for (int y = 0; y < height; y++) {
+                if (labels[y * size] == region && other[y * size + size - 1] != RegionMap.SOLID) {
+                    relaxRegion(node, regionKey(cluster - 1, other[y * size + size - 1]), goalCluster);
+                }
+            }
+        }
+        if (cx < map.clusterCols - 1 && width == size) {
+            short[] other = map.cluster(cluster + 1).labels;
+            for (int y = 0; y < height; y++) {
+                if (labels[y * size + size - 1] == region && other[y * size] != RegionMap.SOLID) {
+                    relaxRegion(node, regionKey(cluster + 1, other[y * size]), goalCluster);
+                }
+            }
+        }
+    }
+
+    private void relaxRegion(int from, int key, int goalCluster) {
+        SearchSpace s = regions;
+        int next = s.node(key);
+        if (s.closed[next]) {
+            return;
+        }
+        int g = s.g[from] + map.clusterSize;
+        if (g < s.g[next]) {
+            s.g[next] = g;
+            s.h[next] = clusterDistance(key >>> 10, goalCluster);
+            s.parent[next] = from;
+            s.push(next, g + s.h[next]);
+        }
+    }
+
+    private int clusterDistance(int a, int b) {
+        int dx = Math.abs(a % map.clusterCols - b % map.clusterCols);
+        int dy = Math.abs(a / map.clusterCols - b / map.clusterCols);
+        return (dx + dy) * map.clusterSize;
+    }
+
+    private static int regionKey(int cluster, int region) {
+        return (cluster << 10) | region;
+    }
+
+    private void markWithNeighbors(int cluster) {
+        int cx = cluster % map.clusterCols;
+        int cy = cluster / map.clusterCols;
+        for (int y = Math.max(0, cy - 1); y <= Math.min(map.clusterRows - 1, cy + 1); y++) {
+            for (int x = Math.max(0, cx - 1); x <= Math.min(map.clusterCols - 1, cx + 1); x++) {
+                int index = y * map.clusterCols + x;
+                if (corridor[index] != corridorStamp) {
+                    corridor[index] = corridorStamp;
+                    corridorLabels[index] = map.cluster(index).labels;
+                }
+            }
+        }
+    }
+
+    // ================
+    // Nível dos tiles: A* com Jump Point Search
+    // ================
+
+    private int[] searchCells(int startCol, int startRow) {
+        SearchSpace s = cells;
+        s.reset();
+        int start = s.node(cellKey(startCol, startRow));
+        s.g[start] = 0;
+        s.h[start] = distance(startCol, startRow, goalCol, goalRow);
+        s.push(start, s.h[start]);
+
+        int node;
+        while ((node = s.pop()) >= 0) {
+            int col = s.key[node] % map.cols;
+            int row = s.key[node] / map.cols;
+            if (col == goalCol && row == goalRow) {
+                return buildPath(node);
+            }
+            s.closed[node] = true;
+
+            int parent = s.parent[node];
+            if (parent < 0) {
+                jumpFrom(node, col, row, 1, 0);
+                jumpFrom(node, col, row, -1, 0);
+                jumpFrom(node, col, row, 0, 1);
+                jumpFrom(node, col, row, 0, -1);
+                continue;
+            }
+
+            // Vizinhos naturais e forçados, de acordo com a direção de chegada
+            int dx = Integer.signum(col - s.key[parent] % map.cols);
+            int dy = Integer.signum(row - s.key[parent] / map.cols);
+            if (dx != 0) {
+                jumpFrom(node, col, row, dx, 0);
+                jumpFrom(node, col, row, 0, 1);
+                jumpFrom(node, col, row, 0, -1);
+            } else {
+                jumpFrom(node, col, row, 0, dy);
+                jumpFrom(node, col, row, 1, 0);
+                jumpFrom(node, col, row, -1, 0);
+            }
+        }
+        return null; // Não ocorre se o corredor estiver conectado
+    }
+
+    private void jumpFrom(int from, int col, int row, int dx, int dy) {
+        int jump = jump(col + dx, row + dy, dx, dy);
+        if (jump < 0) {
+            return;
+        }
+        SearchSpace s = cells;
+        int next = s.node(jump);
+        if (s.closed[next]) {
+            return;
+        }
+        int jumpCol = jump % map.cols;
+        int jumpRow = jump / map.cols;
+        int g = s.g[from] + distance(col, row, jumpCol, jumpRow);
+        if (g < s.g[next]) {
+            s.g[next] = g;
+            s.h[next] = distance(jumpCol, jumpRow, goalCol, goalRow);
+            s.parent[next] = from;
+            s.push(next, g + s.h[next]);
+        }
+    }
+
+    /**
+     * Avança em linha reta a partir de (col, row) até encontrar um ponto de
+     * salto. Movimentos verticais também procuram pontos de salto horizontais a
+     * cada passo.
+     *
+     * @return chave do ponto de salto, ou -1 se o salto terminar em um obstáculo
+     */
+    private int jump(int col, int row, int dx, int dy) {
+        while (true) {
+            if (!walkable(col, row)) {
+                return -1;
+            }
+            if (col == goalCol && row == goalRow) {
+                return cellKey(col, row);
+            }
+            if (dx != 0) {
+                if ((walkable(col, row - 1) && !walkable(col - dx, row - 1))
+                        || (walkable(col, row + 1) && !walkable(col - dx, row + 1))) {
+                    return cellKey(col, row);
+                }
+            } else {
+                if ((walkable(col - 1, row) && !walkable(col - 1, row - dy))
+                        || (walkable(col + 1, row) && !walkable(col + 1, row - dy))) {
+                    return cellKey(col, row);
+                }
+                if (jump(col + 1, row, 1, 0) >= 0 || jump(col - 1, row, -1, 0) >= 0) {
+                    return cellKey(col, row);
+                }
+            }
+            col += dx;
+            row += dy;
+        }
+    }
+
+    private boolean walkable(int col, int row) {
+        if (col < 0 || row < 0 || col >= map.cols || row >= map.rows) {
+            return false;
+        }
+        int cluster = map.clusterOf(col, row);
+        return corridor[cluster] == corridorStamp
+                && corridorLabels[cluster][map.localIndex(col, row)] != RegionMap.SOLID;
+    }
+
+    /**
+     * Liga os pontos de salto do destino até o início e preenche os trechos
+     * retos entre eles.
+     */
+    private int[] buildPath(int goal) {
+        SearchSpace s = cells;
+        jumpPoints.clear();
+        int length = 1;
+        for (int n = goal; n >= 0; n = s.parent[n]) {
+            jumpPoints.add(s.key[n]);
+            if (s.parent[n] >= 0) {
+                length += distance(s.key[n] % map.cols, s.key[n] / map.cols,
+                        s.key[s.parent[n]] % map.cols, s.key[s.parent[n]] / map.cols);
+            }
+        }
+
+        int[] path = new int[length * 2];
+        int i = 0;
+        int col = jumpPoints.get(jumpPoints.size() - 1) % map.cols;
+        int row = jumpPoints.get(jumpPoints.size() - 1) / map.cols;
+        path[i++] = col;
+        path[i++] = row;
+        for (int j = jumpPoints.size() - 2; j >= 0; j--) {
+            int toCol = jumpPoints.get(j) % map.cols;
+            int toRow = jumpPoints.get(j) / map.cols;
+            int dx = Integer.signum(toCol - col);
+            int dy = Integer.signum(toRow - row);
+            while (col != toCol || row != toRow) {
+                col += dx;
+                row += dy;
+                path[i++] = col;
+                path[i++] = row;
+            }
+        }
+        return path;
+    }
+
+    private int cellKey(int col, int row) {
+        return row * map.cols + col;
+    }
+
+    private static int distance(int col, int row, int toCol, int toRow) {
+        return Math.abs(toCol - col) + Math.abs(toRow - row);
+    }
+
+    /**
+     * Nós de uma busca A*, identificados por uma chave inteira: tabela de
+     * endereçamento aberto da chave para o nó, vetores por nó e um heap binário
+     * de prioridades. Tudo é reaproveitado entre as buscas; {@link #reset()}
+     * apenas avança o carimbo que marca as entradas válidas da tabela.
+     */
+    static final class SearchSpace {
+        private int[] tableKey = new int[256];
+        private int[] tableNode = new int[256];
+        private int[] tableStamp = new int[256];
+        private int stamp = 0;
+
+        int[] key = new int[128];
+        int[] g = new int[128];
+        int[] h = new int[128];
+        int[] parent = new int[128];
+        boolean[] closed = new boolean[128];
+        private int count = 0;
+
+        // Heap de (f << 32 | nó): menor custo primeiro; empates pelo nó mais antigo
+        private long[] heap = new long[128];
+        private int heapSize = 0;
+
+        void reset() {
+            if (++stamp == 0) {
+                Arrays.fill(tableStamp, 0);
+                stamp = 1;
+            }
+            count = 0;
+            heapSize = 0;
+        }
+
+        /**
+         * @return nó da chave, criado (com custo infinito) se ainda não existir
+         */
+        int node(int k) {
+            int mask = tableKey.length - 1;
+            int slot = mix(k) & mask;
+            while (tableStamp[slot] == stamp) {
+                if (tableKey[slot] == k) {
+                    return tableNode[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (count == key.length) {
+                int capacity = count * 2;
+                key = Arrays.copyOf(key, capacity);
+                g = Arrays.copyOf(g, capacity);
+                h = Arrays.copyOf(h, capacity);
+                parent = Arrays.copyOf(parent, capacity);
+                closed = Arrays.copyOf(closed, capacity);
+            }
+            int n = count++;
+            key[n] = k;
+            g[n] = Integer.MAX_VALUE;
+            parent[n] = -1;
+            closed[n] = false;
+
+            tableStamp[slot] = stamp;
+            tableKey[slot] = k;
+            tableNode[slot] = n;
+            if (count * 2 > tableKey.length) {
+                rehash(tableKey.length * 2);
+            }
+            return n;
+        }
+
+        void push(int node, int f) {
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+            }
+            long entry = ((long) f << 32) | node;
+            int i = heapSize++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (heap[up] <= entry) {
+                    break;
+                }
+                heap[i] = heap[up];
+                i = up;
+            }
+            heap[i] = entry;
+        }
+
+        /**
+         * @return nó aberto de menor custo, ou -1 se não houver; entradas
+         *         superadas por um custo menor são descartadas
+         */
+        int pop() {
+            while (heapSize > 0) {
+                long top = heap[0];
+                long last = heap[--heapSize];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= heapSize) {
+                        break;
+                    }
+                    if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] >= last) {
+                        break;
+                    }
+                    heap[i] = heap[child];
+                    i = child;
+                }
+                if (heapSize > 0) {
+                    heap[i] = last;
+                }
+
+                int node = (int) top;
+                int f = (int) (top >>> 32);
+                if (!closed[node] && f == g[node] + h[node]) {
+                    return node;
+                }
+            }
+            return -1;
+        }
+
+        private void rehash(int capacity) {
+            tableKey = new int[capacity];
+            tableNode = new int[capacity];
+            tableStamp = new int[capacity];
+            stamp = 1;
+            int mask = capacity - 1;
+            for (int n = 0; n < count; n++) {
+                int slot = mix(key[n]) & mask;
+                while (tableStamp[slot] == stamp) {
+                    slot = (slot + 1) & mask;
+                }
+                tableStamp[slot] = stamp;
+                tableKey[slot] = key[n];
+                tableNode[slot] = n;
+            }
+        }
+
+        private static int mix(int k) {
+            int x = k * 0x9E3779B1;
+            return x ^ (x >>> 16);
+        }
+    }
+}
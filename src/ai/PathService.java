@@ -0,0 +1,273 @@
+package ai;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import main.Config;
+import tile.TileChangeListener;
+import tile.TileManager;
+
+/**
+ * Serviço de busca de caminhos sobre o mapa de tiles, para NPCs e inimigos.
+ *
+ * As buscas ({@link GridPathfinder}) usam a colisão dos tiles e se movem em 4
+ * direções. Os caminhos encontrados ficam em um cache LRU
+ * ({@code path.cacheSize}); quando um tile muda, saem do cache apenas os
+ * caminhos que passam pelo grupo de tiles alterado, além dos destinos antes
+ * inalcançáveis (que podem ter se tornado alcançáveis).
+ *
+ * Pedidos assíncronos ({@link #request}) entram em uma fila e, a cada tick
+ * ({@link #update()}), no máximo {@code path.budgetPerTick} deles são enviados
+ * a um pool de threads dedicado ({@code path.threads}), o que evita picos
+ * quando muitos agentes pedem caminhos ao mesmo tempo. Pedidos iguais ainda
+ * pendentes compartilham o mesmo resultado.
+ *
+ * Os caminhos são vetores {@code col0, row0, col1, row1, ...} com todos os
+ * tiles do início ao destino, compartilhados com o cache: não devem ser
+ * alterados por quem os recebe.
+ */
+public class PathService implements TileChangeListener {
+
+    private static final int MAX_ATTEMPTS = 3; // Buscas refeitas quando o mapa muda durante a busca
+
+    /** Marca, no cache, um destino inalcançável. */
+    private static final int[] NO_PATH = new int[0];
+
+    private final TileManager tiles;
+    private final int clusterSize;
+    private final int budgetPerTick;
+    private final int threads;
+
+    private volatile RegionMap regions;
+
+    // Alterações do mapa desde a criação; buscas concorrentes a uma alteração são refeitas
+    private final AtomicInteger changes = new AtomicInteger();
+
+    private final ThreadLocal<GridPathfinder> pathfinders = new ThreadLocal<>();
+
+    // Caminhos encontrados (ou NO_PATH), por início e destino; acesso sincronizado
+    private final LinkedHashMap<Long, CachedPath> cache;
+
+    // Pedidos aguardando envio ao pool e pedidos em andamento (apenas na thread da simulação)
+    private final ArrayDeque<PendingPath> pending = new ArrayDeque<>();
+    private final Map<Long, CompletableFuture<int[]>> inFlight = new HashMap<>();
+
+    private ExecutorService pool; // Criado no primeiro envio
+
+    /**
+     * Caminho em cache e os grupos por onde ele passa.
+     */
+    private record CachedPath(int[] path, int[] clusters) {
+    }
+
+    private record PendingPath(int startCol, int startRow, int goalCol, int goalRow, CompletableFuture<int[]> result) {
+    }
+
+    /**
+     * @param tiles Mapa sobre o qual os caminhos são buscados
+     */
+    public PathService(TileManager tiles) {
+        this(tiles, Config.PATH_THREADS, Config.PATH_BUDGET_PER_TICK, Config.PATH_CLUSTER_SIZE,
+                Config.PATH_CACHE_SIZE);
+    }
+
+    /**
+     * @param tiles         Mapa sobre o qual os caminhos são buscados
+     * @param threads       Threads de busca assíncrona (0 = uma por processador)
+     * @param budgetPerTick Pedidos assíncronos enviados ao pool por tick
+     * @param clusterSize   Lado dos grupos de tiles da busca hierárquica
+     * @param cacheSize     Caminhos mantidos em cache
+     */
+    public PathService(TileManager tiles, int threads, int budgetPerTick, int clusterSize, int cacheSize) {
+        this.tiles = tiles;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.budgetPerTick = budgetPerTick;
+        this.clusterSize = clusterSize;
+        this.regions = new RegionMap(tiles, clusterSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPath> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Busca um caminho na thread atual, consultando o cache antes.
+     *
+     * @return tiles do caminho ({@code col, row} intercalados, do início ao
+     *         destino), ou null se o destino for inalcançável ou sólido, ou se
+     *         o início ou o destino estiver fora do mapa
+     */
+    public int[] findPath(int startCol, int startRow, int goalCol, int goalRow) {
+        if (!isInside(startCol, startRow) || !isInside(goalCol, goalRow)) {
+            return null; // Fora do mapa: a chave colidiria com a de um tile válido
+        }
+        long key = key(startCol, startRow, goalCol, goalRow);
+        synchronized (cache) {
+            CachedPath cached = cache.get(key);
+            if (cached != null) {
+                return cached.path == NO_PATH ? null : cached.path;
+            }
+        }
+
+        int[] path = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int version = changes.get();
+            RegionMap map = regions;
+            GridPathfinder pathfinder = pathfinders.get();
+            if (pathfinder == null || pathfinder.map != map) {
+                pathfinder = new GridPathfinder(map);
+                pathfinders.set(pathfinder);
+            }
+            path = pathfinder.findPath(startCol, startRow, goalCol, goalRow);
+
+            synchronized (cache) {
+                // Só guarda o resultado se nenhum tile mudou durante a busca
+                if (changes.get() == version) {
+                    cache.put(key, new CachedPath(path == null ? NO_PATH : path, clustersOf(map, path)));
+                    break;
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Pede um caminho de forma assíncrona. O pedido é atendido na hora se
+     * estiver em cache; senão, é enviado ao pool em um dos próximos ticks.
+     *
+     * @return resultado futuro, como em {@link #findPath}; completado por uma
+     *         thread de busca, então deve ser consultado (ex: {@code getNow})
+     *         pela thread da simulação em vez de tratado em callbacks
+     */
+    public CompletableFuture<int[]> request(int startCol, int startRow, int goalCol, int goalRow) {
+        if (!isInside(startCol, startRow) || !isInside(goalCol, goalRow)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long key = key(startCol, startRow, goalCol, goalRow);
+        synchronized (cache) {
+            CachedPath cached = cache.get(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached.path == NO_PATH ? null : cached.path);
+            }
+        }
+
+        CompletableFuture<int[]> result = inFlight.get(key);
+        if (result == null) {
+            result = new CompletableFuture<>();
+            inFlight.put(key, result);
+            pending.add(new PendingPath(startCol, startRow, goalCol, goalRow, result));
+        }
+        return result;
+    }
+
+    /**
+     * Envia ao pool os próximos pedidos pendentes, até o limite por tick.
+     * Chamado uma vez por tick pela thread da simulação.
+     */
+    public void update() {
+        for (int i = 0; i < budgetPerTick && !pending.isEmpty(); i++) {
+            PendingPath request = pending.poll();
+            pool().execute(() -> {
+                try {
+                    request.result.complete(findPath(request.startCol, request.startRow,
+                            request.goalCol, request.goalRow));
+                } catch (RuntimeException e) {
+                    request.result.completeExceptionally(e);
+                }
+            });
+        }
+
+        if (!inFlight.isEmpty()) {
+            inFlight.values().removeIf(CompletableFuture::isDone);
+        }
+    }
+
+    /**
+     * @return pedidos assíncronos ainda não enviados ao pool
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void tileChanged(int col, int row) {
+        // Invalida antes de contar a alteração: uma busca que já vê a contagem
+        // nova também vê os rótulos invalidados, e as demais serão refeitas
+        RegionMap map = regions;
+        map.invalidate(col, row);
+        changes.incrementAndGet();
+        int cluster = map.clusterOf(col, row);
+
+        synchronized (cache) {
+            Iterator<CachedPath> it = cache.values().iterator();
+            while (it.hasNext()) {
+                CachedPath cached = it.next();
+                if (cached.path == NO_PATH || contains(cached.clusters, cluster)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void mapChanged() {
+        regions = new RegionMap(tiles, clusterSize);
+        changes.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private ExecutorService pool() {
+        if (pool == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "path-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pool;
+    }
+
+    private boolean isInside(int col, int row) {
+        RegionMap map = regions;
+        return col >= 0 && row >= 0 && col < map.cols && row < map.rows;
+    }
+
+    /**
+     * @return chave do cache; válida apenas para posições dentro do mapa
+     */
+    private long key(int startCol, int startRow, int goalCol, int goalRow) {
+        int cols = regions.cols;
+        return ((long) (startRow * cols + startCol) << 32) | ((goalRow * cols + goalCol) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return grupos distintos por onde o caminho passa, em ordem crescente
+     */
+    private static int[] clustersOf(RegionMap map, int[] path) {
+        if (path == null) {
+            return NO_PATH;
+        }
+        int[] clusters = new int[path.length / 2];
+        for (int i = 0; i < clusters.length; i++) {
+            clusters[i] = map.clusterOf(path[i * 2], path[i * 2 + 1]);
+        }
+        return Arrays.stream(clusters).sorted().distinct().toArray();
+    }
+
+    private static boolean contains(int[] sorted, int value) {
+        return Arrays.binarySearch(sorted, value) >= 0;
+    }
+}
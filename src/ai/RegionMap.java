@@ -0,0 +1,194 @@
+package ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import tile.TileManager;
+
+/**
+ * Abstração hierárquica do mapa para a busca de caminhos.
+ *
+ * O mapa é dividido em grupos quadrados de tiles ({@code path.clusterSize}), e
+ * os tiles caminháveis de cada grupo são separados em regiões conectadas (em 4
+ * direções, sem sair do grupo). Duas regiões de grupos vizinhos são adjacentes
+ * quando algum par de tiles caminháveis da fronteira as liga. Buscar primeiro no
+ * grafo de regiões permite descartar de imediato destinos inalcançáveis e
+ * restringir a busca tile a tile a um corredor estreito de grupos.
+ *
+ * Os grupos são rotulados sob demanda e compartilhados entre as threads de
+ * busca. Cada grupo tem uma versão, incrementada quando um tile dele muda; um
+ * rótulo calculado com uma versão anterior é descartado na próxima leitura.
+ */
+final class RegionMap {
+
+    /** Rótulo de tile sólido (fora de qualquer região). */
+    static final short SOLID = -1;
+
+    static final int MIN_CLUSTER_SIZE = 4;
+    static final int MAX_CLUSTER_SIZE = 32;
+
+    /**
+     * Limite de grupos do mapa: a busca em regiões guarda o grupo em 21 bits de
+     * uma chave int, ao lado dos 10 bits da região.
+     */
+    static final int MAX_CLUSTERS = 1 << 21;
+
+    final TileManager tiles;
+    final int cols, rows; // Dimensões do mapa, em tiles
+    final int clusterSize;
+    final int clusterShift; // log2(clusterSize)
+    final int clusterMask; // clusterSize - 1, para a posição dentro do grupo
+    final int clusterCols, clusterRows; // Dimensões do mapa, em grupos
+
+    private final AtomicReferenceArray<Cluster> clusters;
+    private final AtomicIntegerArray versions;
+
+    /**
+     * Regiões rotuladas de um grupo, imutáveis após a criação.
+     */
+    static final class Cluster {
+        final int version; // Versão do grupo quando o rótulo foi calculado
+        final short[] labels; // Região de cada tile (linha a linha), ou SOLID
+        final int regionCount;
+
+        Cluster(int version, short[] labels, int regionCount) {
+            this.version = version;
+            this.labels = labels;
+            this.regionCount = regionCount;
+        }
+    }
+
+    /**
+     * @param tiles       Mapa a ser abstraído
+     * @param clusterSize Lado de cada grupo, em tiles (potência de 2)
+     */
+    RegionMap(TileManager tiles, int clusterSize) {
+        if (clusterSize < MIN_CLUSTER_SIZE || clusterSize > MAX_CLUSTER_SIZE || Integer.bitCount(clusterSize) != 1) {
+            throw new IllegalArgumentException("Tamanho de grupo deve ser uma potência de 2 entre "
+                    + MIN_CLUSTER_SIZE + " e " + MAX_CLUSTER_SIZE + ": " + clusterSize);
+        }
+        this.tiles = tiles;
+        this.cols = tiles.getMaxWorldCol();
+        this.rows = tiles.getMaxWorldRow();
+        this.clusterSize = clusterSize;
+        this.clusterShift = Integer.numberOfTrailingZeros(clusterSize);
+        this.clusterMask = clusterSize - 1;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        if ((long) clusterCols * clusterRows > MAX_CLUSTERS) {
+            throw new IllegalArgumentException("Mapa de " + cols + "x" + rows + " excede " + MAX_CLUSTERS
+                    + " grupos com path.clusterSize=" + clusterSize + "; use grupos maiores");
+        }
+        this.clusters = new AtomicReferenceArray<>(clusterCols * clusterRows);
+        this.versions = new AtomicIntegerArray(clusterCols * clusterRows);
+    }
+
+    /**
+     * @return true se a posição estiver dentro do mapa e não for sólida
+     */
+    boolean isWalkable(int col, int row) {
+        return col >= 0 && row >= 0 && col < cols && row < rows && !tiles.isSolid(col, row);
+    }
+
+    int clusterOf(int col, int row) {
+        return (row >> clusterShift) * clusterCols + (col >> clusterShift);
+    }
+
+    /**
+     * @return região do tile dentro do seu grupo, ou {@link #SOLID}
+     */
+    int regionOf(int col, int row) {
+        Cluster cluster = cluster(clusterOf(col, row));
+        return cluster.labels[localIndex(col, row)];
+    }
+
+    /**
+     * @return posição do tile no vetor de rótulos do seu grupo
+     */
+    int localIndex(int col, int row) {
+        return ((row & clusterMask) << clusterShift) | (col & clusterMask);
+    }
+
+    /**
+     * Invalida o rótulo do grupo que contém o tile. Deve ser chamado após a
+     * alteração do tile.
+     */
+    void invalidate(int col, int row) {
+        versions.incrementAndGet(clusterOf(col, row));
+    }
+
+    /**
+     * @return rótulo atual do grupo, calculado na hora se ausente ou desatualizado
+     */
+    Cluster cluster(int index) {
+        Cluster cluster = clusters.get(index);
+        int version = versions.get(index);
+        if (cluster != null && cluster.version == version) {
+            return cluster;
+        }
+
+        // A versão é lida antes dos tiles: uma alteração concorrente torna o
+        // rótulo desatualizado, e ele será refeito na próxima leitura
+        cluster = label(index, version);
+        clusters.set(index, cluster);
+        return cluster;
+    }
+
+    /**
+     * Separa os tiles caminháveis do grupo em regiões por preenchimento.
+     */
+    private Cluster label(int index, int version) {
+        int originCol = (index % clusterCols) * clusterSize;
+        int originRow = (index / clusterCols) * clusterSize;
+        int width = Math.min(clusterSize, cols - originCol);
+        int height = Math.min(clusterSize, rows - originRow);
+
+        short[] labels = new short[clusterSize * clusterSize];
+        Arrays.fill(labels, SOLID);
+        boolean[] walkable = new boolean[clusterSize * clusterSize];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                walkable[y * clusterSize + x] = !tiles.isSolid(originCol + x, originRow + y);
+            }
+        }
+
+        int[] stack = new int[clusterSize * clusterSize];
+        short regionCount = 0;
+        for (int start = 0; start < labels.length; start++) {
+            if (!walkable[start] || labels[start] != SOLID) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = start;
+            labels[start] = regionCount;
+            while (top > 0) {
+                int cell = stack[--top];
+                int x = cell % clusterSize;
+                int y = cell / clusterSize;
+                if (x > 0) {
+                    top = visit(cell - 1, walkable, labels, regionCount, stack, top);
+                }
+                if (x < width - 1) {
+                    top = visit(cell + 1, walkable, labels, regionCount, stack, top);
+                }
+                if (y > 0) {
+                    top = visit(cell - clusterSize, walkable, labels, regionCount, stack, top);
+                }
+                if (y < height - 1) {
+                    top = visit(cell + clusterSize, walkable, labels, regionCount, stack, top);
+                }
+            }
+            regionCount++;
+        }
+        return new Cluster(version, labels, regionCount);
+    }
+
+    private static int visit(int cell, boolean[] walkable, short[] labels, short region, int[] stack, int top) {
+        if (walkable[cell] && labels[cell] == SOLID) {
+            labels[cell] = region;
+            stack[top++] = cell;
+        }
+        return top;
+    }
+}
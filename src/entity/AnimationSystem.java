@@ -0,0 +1,78 @@
+package entity;
+
+import java.awt.Graphics2D;
+
+import main.Camera;
+import main.Config;
+import utils.AtlasRegion;
+
+/**
+ * Anima e desenha as entidades do {@link EntityStore} que possuem quadros
+ * ({@link EntityStore#SPRITE}).
+ *
+ * Segue o mesmo ritmo do jogador: enquanto a entidade anda, o quadro avança a
+ * cada 10 ticks; parada, ela volta ao primeiro quadro da direção.
+ */
+public class AnimationSystem {
+
+    private static final int REQUIRED = EntityStore.POSITION | EntityStore.SPRITE;
+    private static final int TICKS_PER_FRAME = 10;
+
+    /**
+     * Avança a animação de todas as entidades em um tick.
+     *
+     * @param store Entidades a animar
+     */
+    public void update(EntityStore store) {
+        int[] mask = store.mask;
+        int[] frame = store.frame;
+        int[] frameCounter = store.frameCounter;
+        boolean[] moving = store.moving;
+
+        for (int i = 0; i < store.count; i++) {
+            if ((mask[i] & REQUIRED) != REQUIRED) {
+                continue;
+            }
+            if ((mask[i] & EntityStore.VELOCITY) == 0 || !moving[i]) {
+                frame[i] = 0;
+                frameCounter[i] = 0;
+                continue;
+            }
+            frameCounter[i]++;
+            if (frameCounter[i] > TICKS_PER_FRAME) {
+                frame[i]++; // Reduzido ao total de quadros da direção no desenho
+                frameCounter[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Desenha as entidades visíveis, interpoladas entre os dois últimos ticks.
+     * Entidades sem {@link EntityStore#VELOCITY} usam os quadros da primeira
+     * direção.
+     *
+     * @param store  Entidades a desenhar
+     * @param g2     Contexto gráfico de destino
+     * @param camera Câmera que define a região visível do mundo
+     * @param alpha  Fração (0 a 1) decorrida entre o último tick e o próximo
+     */
+    public void draw(EntityStore store, Graphics2D g2, Camera camera, float alpha) {
+        int[] mask = store.mask;
+        int cameraX = camera.getWorldX();
+        int cameraY = camera.getWorldY();
+
+        for (int i = 0; i < store.count; i++) {
+            if ((mask[i] & REQUIRED) != REQUIRED) {
+                continue;
+            }
+            int screenX = store.prevX[i] + Math.round((store.x[i] - store.prevX[i]) * alpha) - cameraX;
+            int screenY = store.prevY[i] + Math.round((store.y[i] - store.prevY[i]) * alpha) - cameraY;
+
+            if (screenX + Config.TILE_SIZE > 0 && screenX < Config.SCREEN_WIDTH &&
+                    screenY + Config.TILE_SIZE > 0 && screenY < Config.SCREEN_HEIGHT) {
+                AtlasRegion[] frames = store.spriteSets.get(store.spriteSet[i])[store.direction[i]];
+                frames[store.frame[i] % frames.length].draw(g2, screenX, screenY);
+            }
+        }
+    }
+}
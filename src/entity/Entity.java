@@ -1,8 +1,8 @@
 package entity;
 
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
 
+import utils.AtlasRegion;
 import utils.Direction;
 
 /**
@@ -12,37 +12,62 @@ import utils.Direction;
 public class Entity {
     public int worldX, worldY; // Coordenadas da entidade no mundo, usadas para cálculo de posição relativa ao
                                // mapa
+    public int prevWorldX, prevWorldY; // Posição no tick anterior, usada na interpolação do desenho
     public int speed; // Velocidade da entidade
 
-    // Sprites da entidade para animação em cada direção
-    public BufferedImage up1, up2;
-    public BufferedImage down1, down2;
-    public BufferedImage left1, left2;
-    public BufferedImage right1, right2;
+    // Quadros da animação em cada direção (regiões do atlas), com qualquer quantidade
+    public AtlasRegion[] upFrames;
+    public AtlasRegion[] downFrames;
+    public AtlasRegion[] leftFrames;
+    public AtlasRegion[] rightFrames;
 
     public Direction direction; // Direção atual da entidade
 
     public int spriteCounter = 0; // Contador usado para alternar os sprites
-    public int spriteNumber = 1; // Alternância entre sprite 1 e 2
+    public int spriteNumber = 1; // Quadro atual da animação, de 1 até a quantidade de quadros
 
     /**
-     * Posição padrão (offset) da área sólida da entidade em relação à sua posição
-     * (worldX, worldY).
-     * Usado para resetar a área de colisão ao estado original após alterações
-     * temporárias.
+     * Área sólida (hitbox) da entidade, com posição relativa a (worldX, worldY).
+     * Somente leitura durante a verificação de colisões.
      */
-    public int solidAreaDefaultX, solidAreaDefaultY;
     public Rectangle solidArea;
     public boolean collisionOn = false;
 
     /**
-     * Restaura a posição da área sólida (hitbox) da entidade para os valores
-     * padrão.
-     * Deve ser chamado após simulações de movimento para evitar acúmulo de
-     * deslocamentos.
+     * @param direction Direção da entidade
+     * @return quadros da animação na direção informada
      */
-    public void resetSolidArea() {
-        this.solidArea.x = this.solidAreaDefaultX;
-        this.solidArea.y = this.solidAreaDefaultY;
+    public AtlasRegion[] framesFor(Direction direction) {
+        return switch (direction) {
+            case UP -> upFrames;
+            case DOWN -> downFrames;
+            case LEFT -> leftFrames;
+            case RIGHT -> rightFrames;
+        };
+    }
+
+    /**
+     * Registra a posição atual como a do tick anterior.
+     * Deve ser chamado no início de cada atualização da entidade.
+     */
+    public void capturePreviousPosition() {
+        this.prevWorldX = this.worldX;
+        this.prevWorldY = this.worldY;
+    }
+
+    /**
+     * @param alpha Fração (0..1) do tick decorrida desde a última atualização
+     * @return coordenada X interpolada entre o tick anterior e o atual
+     */
+    public int interpolatedX(float alpha) {
+        return prevWorldX + Math.round((worldX - prevWorldX) * alpha);
+    }
+
+    /**
+     * @param alpha Fração (0..1) do tick decorrida desde a última atualização
+     * @return coordenada Y interpolada entre o tick anterior e o atual
+     */
+    public int interpolatedY(float alpha) {
+        return prevWorldY + Math.round((worldY - prevWorldY) * alpha);
     }
 }
@@ -0,0 +1,307 @@
+package entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import utils.AtlasRegion;
+import utils.Direction;
+import utils.HandleAllocator;
+
+/**
+ * Armazenamento das entidades simuladas em massa (NPCs, itens no chão), em
+ * estrutura de vetores (SoA).
+ *
+ * Cada componente é um conjunto de vetores primitivos paralelos, indexados pela
+ * posição densa da entidade, e a máscara {@link #mask} indica quais componentes
+ * cada entidade possui. Os sistemas ({@link MovementSystem},
+ * {@link AnimationSystem}, {@link PickupSystem}) percorrem esses vetores em
+ * ordem, sem objetos por entidade nem chamadas virtuais.
+ *
+ * As entidades vivas ficam compactadas no início dos vetores; a remoção move a
+ * última entidade para a posição liberada. Fora dos sistemas, as entidades são
+ * identificadas por handles estáveis de um {@link HandleAllocator}, o mesmo
+ * usado pelo {@link utils.Registry}, que invalida handles guardados após a
+ * remoção.
+ */
+public class EntityStore {
+
+    // Componentes (bits da máscara)
+    /** Posição no mundo, em pixels ({@link #x}, {@link #y}, e as do tick anterior). */
+    public static final int POSITION = 1;
+    /** Direção, velocidade e se a entidade está andando. */
+    public static final int VELOCITY = 1 << 1;
+    /** Área sólida relativa à posição. */
+    public static final int HITBOX = 1 << 2;
+    /** Quadros de animação por direção. */
+    public static final int SPRITE = 1 << 3;
+    /** Item que pode ser recolhido por uma entidade {@link #COLLECTOR}. */
+    public static final int PICKUP = 1 << 4;
+    /** Entidade que recolhe itens {@link #PICKUP} ao tocá-los. */
+    public static final int COLLECTOR = 1 << 5;
+
+    /** Handle que não corresponde a nenhuma entidade. */
+    public static final int NO_ENTITY = HandleAllocator.NO_HANDLE;
+
+    static final Direction[] DIRECTIONS = Direction.values();
+
+    int count = 0; // Entidades vivas (posições densas 0..count-1)
+
+    // Vetores por posição densa
+    int[] mask;
+    int[] x, y; // POSITION
+    int[] prevX, prevY;
+    byte[] direction; // VELOCITY (ordinal de Direction)
+    int[] speed;
+    boolean[] moving;
+    int[] boxX, boxY, boxW, boxH; // HITBOX
+    int[] spriteSet, frame, frameCounter; // SPRITE
+    int[] pickupKind; // PICKUP
+    int[] collected; // COLLECTOR (itens recolhidos)
+
+    // Handles das entidades, nas mesmas posições densas dos vetores
+    private final HandleAllocator handles = new HandleAllocator("entidades");
+
+    // Conjuntos de quadros: [direção][quadro], referenciados por índice em spriteSet
+    final List<AtlasRegion[][]> spriteSets = new ArrayList<>();
+
+    public EntityStore() {
+        allocate(16);
+    }
+
+    /**
+     * Cria uma entidade com os componentes informados, todos zerados.
+     *
+     * @param components Máscara de componentes (ex: {@code POSITION | VELOCITY})
+     * @return handle da entidade
+     */
+    public int create(int components) {
+        int handle = handles.allocate();
+        if (count == mask.length) {
+            allocate(count * 2);
+        }
+        int i = count++;
+        clear(i);
+        mask[i] = components;
+        return handle;
+    }
+
+    /**
+     * Remove uma entidade. Handles inválidos são ignorados.
+     *
+     * @param handle Handle da entidade
+     * @return true se uma entidade foi removida
+     */
+    public boolean destroy(int handle) {
+        int i = indexOf(handle);
+        if (i < 0) {
+            return false;
+        }
+        destroyAt(i);
+        return true;
+    }
+
+    /**
+     * Remove a entidade da posição densa informada. A última entidade passa a
+     * ocupar essa posição; as demais não se movem.
+     *
+     * @param i Posição densa, de 0 a {@code size() - 1}
+     */
+    void destroyAt(int i) {
+        // Move a última entidade para a posição liberada, como o alocador
+        int last = --count;
+        if (i != last) {
+            copy(last, i);
+        }
+        handles.freeAt(i);
+    }
+
+    /**
+     * @param handle Handle da entidade
+     * @return posição densa da entidade, ou -1 se o handle não for mais válido
+     */
+    public int indexOf(int handle) {
+        return handles.indexOf(handle);
+    }
+
+    /**
+     * @param handle Handle a verificar
+     * @return true se o handle corresponde a uma entidade viva
+     */
+    public boolean isAlive(int handle) {
+        return indexOf(handle) >= 0;
+    }
+
+    /**
+     * @return quantidade de entidades vivas
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @param index Posição densa, de 0 a {@code size() - 1}
+     * @return handle da entidade naquela posição
+     */
+    public int handleAt(int index) {
+        return handles.handleAt(index);
+    }
+
+    /**
+     * Registra um conjunto de quadros de animação.
+     *
+     * @param framesByDirection Quadros de cada direção, indexados pelo ordinal de
+     *                          {@link Direction} (ao menos um quadro por direção)
+     * @return índice do conjunto, usado em {@link #setSprite(int, int)}
+     */
+    public int addSpriteSet(AtlasRegion[][] framesByDirection) {
+        if (framesByDirection.length != DIRECTIONS.length) {
+            throw new IllegalArgumentException("Esperados quadros para " + DIRECTIONS.length + " direções");
+        }
+        for (AtlasRegion[] frames : framesByDirection) {
+            if (frames == null || frames.length == 0) {
+                throw new IllegalArgumentException("Direção sem quadros");
+            }
+        }
+        spriteSets.add(framesByDirection);
+        return spriteSets.size() - 1;
+    }
+
+    public void setPosition(int handle, int worldX, int worldY) {
+        int i = require(handle, POSITION);
+        x[i] = worldX;
+        y[i] = worldY;
+        prevX[i] = worldX;
+        prevY[i] = worldY;
+    }
+
+    public void setVelocity(int handle, Direction dir, int pixelsPerTick, boolean isMoving) {
+        int i = require(handle, VELOCITY);
+        direction[i] = (byte) dir.ordinal();
+        speed[i] = pixelsPerTick;
+        moving[i] = isMoving;
+    }
+
+    public void setHitbox(int handle, int offsetX, int offsetY, int width, int height) {
+        int i = require(handle, HITBOX);
+        boxX[i] = offsetX;
+        boxY[i] = offsetY;
+        boxW[i] = width;
+        boxH[i] = height;
+    }
+
+    public void setSprite(int handle, int spriteSetIndex) {
+        int i = require(handle, SPRITE);
+        if (spriteSetIndex < 0 || spriteSetIndex >= spriteSets.size()) {
+            throw new IllegalArgumentException("Conjunto de quadros inexistente: " + spriteSetIndex);
+        }
+        spriteSet[i] = spriteSetIndex;
+        frame[i] = 0;
+        frameCounter[i] = 0;
+    }
+
+    public void setPickup(int handle, int kind) {
+        pickupKind[require(handle, PICKUP)] = kind;
+    }
+
+    public int getX(int handle) {
+        return x[require(handle, POSITION)];
+    }
+
+    public int getY(int handle) {
+        return y[require(handle, POSITION)];
+    }
+
+    public Direction getDirection(int handle) {
+        return DIRECTIONS[direction[require(handle, VELOCITY)]];
+    }
+
+    public int getCollected(int handle) {
+        return collected[require(handle, COLLECTOR)];
+    }
+
+    /**
+     * @return posição densa da entidade viva, que deve possuir o componente
+     */
+    private int require(int handle, int component) {
+        int i = indexOf(handle);
+        if (i < 0) {
+            throw new IllegalArgumentException("Entidade inexistente: " + handle);
+        }
+        if ((mask[i] & component) == 0) {
+            throw new IllegalArgumentException("Entidade " + handle + " sem o componente " + component);
+        }
+        return i;
+    }
+
+    private void clear(int i) {
+        x[i] = y[i] = prevX[i] = prevY[i] = 0;
+        direction[i] = 0;
+        speed[i] = 0;
+        moving[i] = false;
+        boxX[i] = boxY[i] = boxW[i] = boxH[i] = 0;
+        spriteSet[i] = frame[i] = frameCounter[i] = 0;
+        pickupKind[i] = 0;
+        collected[i] = 0;
+    }
+
+    private void copy(int from, int to) {
+        mask[to] = mask[from];
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        direction[to] = direction[from];
+        speed[to] = speed[from];
+        moving[to] = moving[from];
+        boxX[to] = boxX[from];
+        boxY[to] = boxY[from];
+        boxW[to] = boxW[from];
+        boxH[to] = boxH[from];
+        spriteSet[to] = spriteSet[from];
+        frame[to] = frame[from];
+        frameCounter[to] = frameCounter[from];
+        pickupKind[to] = pickupKind[from];
+        collected[to] = collected[from];
+    }
+
+    private void allocate(int capacity) {
+        if (mask == null) {
+            mask = new int[capacity];
+            x = new int[capacity];
+            y = new int[capacity];
+            prevX = new int[capacity];
+            prevY = new int[capacity];
+            direction = new byte[capacity];
+            speed = new int[capacity];
+            moving = new boolean[capacity];
+            boxX = new int[capacity];
+            boxY = new int[capacity];
+            boxW = new int[capacity];
+            boxH = new int[capacity];
+            spriteSet = new int[capacity];
+            frame = new int[capacity];
+            frameCounter = new int[capacity];
+            pickupKind = new int[capacity];
+            collected = new int[capacity];
+            return;
+        }
+        mask = Arrays.copyOf(mask, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        moving = Arrays.copyOf(moving, capacity);
+        boxX = Arrays.copyOf(boxX, capacity);
+        boxY = Arrays.copyOf(boxY, capacity);
+        boxW = Arrays.copyOf(boxW, capacity);
+        boxH = Arrays.copyOf(boxH, capacity);
+        spriteSet = Arrays.copyOf(spriteSet, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+        frameCounter = Arrays.copyOf(frameCounter, capacity);
+        pickupKind = Arrays.copyOf(pickupKind, capacity);
+        collected = Arrays.copyOf(collected, capacity);
+    }
+}
@@ -0,0 +1,281 @@
+package entity;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import main.Config;
+import main.GameWorld;
+import tile.TileManager;
+import utils.CollisionChecker;
+import utils.CollisionResult;
+import utils.Direction;
+import utils.IntList;
+import utils.SpatialHash;
+
+/**
+ * Movimenta as entidades do {@link EntityStore} que estão andando.
+ *
+ * Cada entidade avança em sua direção e velocidade, a menos que sua área
+ * sólida alcance um tile sólido, um objeto sólido ou a borda do mapa.
+ * Entidades sem {@link EntityStore#HITBOX} não colidem.
+ *
+ * A atualização ocorre em duas fases:
+ * <ol>
+ * <li><b>Intenção</b>: cada entidade lê apenas o estado do tick anterior (sua
+ * posição, o mapa e os objetos, que não mudam nessa fase) e grava a posição
+ * pretendida em um buffer. As entidades são divididas em lotes contíguos de
+ * {@code entities.parallel.batch}, calculados em paralelo em um
+ * {@link ForkJoinPool}; cada lote escreve apenas no seu trecho do buffer e usa
+ * seu próprio {@link CollisionResult}.</li>
+ * <li><b>Aplicação</b>: uma única thread percorre as entidades em ordem densa,
+ * guarda a posição anterior (base da interpolação do desenho) e aplica a
+ * intenção, a menos que ela leve a caixa da entidade sobre a de outro corpo
+ * (entidade com {@link EntityStore#HITBOX} que não seja item). Os corpos ficam
+ * em um {@link SpatialHash} com a posição mais recente de cada um: já
+ * confirmada neste tick, para os anteriores na ordem densa, ou ainda a do tick
+ * anterior, para os seguintes. Assim, quando duas intenções disputam o mesmo
+ * espaço, a primeira na ordem densa fica com ele. A coleta de itens
+ * ({@link PickupSystem}) é resolvida em seguida, também em sequência.</li>
+ * </ol>
+ * Como nenhuma intenção depende de outra, o resultado é idêntico bit a bit ao
+ * de uma única thread, qualquer que seja a divisão em lotes.
+ */
+public class MovementSystem {
+
+    private static final int REQUIRED = EntityStore.POSITION | EntityStore.VELOCITY;
+    private static final int BODY = EntityStore.POSITION | EntityStore.HITBOX;
+
+    private final GameWorld world;
+    private final int batch; // Entidades por lote da fase de intenção
+    private final int threads; // Threads da fase de intenção (1 = sem paralelismo)
+    private ForkJoinPool pool; // Criado no primeiro tick com mais de um lote
+
+    // Posição pretendida de cada entidade, por posição densa
+    private int[] intentX = new int[16];
+    private int[] intentY = new int[16];
+
+    // Resultado de colisão de cada lote, reaproveitado entre ticks
+    private CollisionResult[] results = { new CollisionResult() };
+
+    // Corpos pela posição densa, usados na fase de aplicação
+    private final SpatialHash bodyIndex = new SpatialHash(Config.TILE_SIZE);
+    private final IntList candidates = new IntList();
+
+    public MovementSystem(GameWorld world) {
+        this(world, Config.ENTITIES_PARALLEL_THREADS, Config.ENTITIES_PARALLEL_BATCH);
+    }
+
+    /**
+     * @param world   Mundo consultado nas colisões
+     * @param threads Threads da fase de intenção (0 = uma por processador, 1 =
+     *                sem paralelismo)
+     * @param batch   Entidades por lote da fase de intenção
+     */
+    public MovementSystem(GameWorld world, int threads, int batch) {
+        if (batch <= 0) {
+            throw new IllegalArgumentException("Tamanho de lote inválido: " + batch);
+        }
+        this.world = world;
+        this.batch = batch;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Avança todas as entidades em um tick.
+     *
+     * @param store Entidades a movimentar
+     */
+    public void update(EntityStore store) {
+        int count = store.count;
+        if (intentX.length < count) {
+            intentX = new int[store.mask.length];
+            intentY = new int[store.mask.length];
+        }
+
+        int batches = (count + batch - 1) / batch;
+        if (batches <= 1 || threads == 1) {
+            computeIntents(store, 0, count, results[0]);
+        } else {
+            if (results.length < batches) {
+                int old = results.length;
+                results = Arrays.copyOf(results, batches);
+                for (int b = old; b < batches; b++) {
+                    results[b] = new CollisionResult();
+                }
+            }
+            if (pool == null) {
+                pool = new ForkJoinPool(threads);
+            }
+            pool.invoke(new IntentTask(store, 0, batches));
+        }
+
+        applyIntents(store);
+    }
+
+    /**
+     * Fase de intenção de um trecho de entidades. Lê apenas o estado do tick
+     * anterior e escreve apenas no trecho correspondente do buffer.
+     */
+    private void computeIntents(EntityStore store, int from, int to, CollisionResult result) {
+        int[] mask = store.mask;
+        int[] x = store.x, y = store.y;
+        byte[] direction = store.direction;
+        int[] speed = store.speed;
+        boolean[] moving = store.moving;
+
+        for (int i = from; i < to; i++) {
+            int nextX = x[i];
+            int nextY = y[i];
+
+            if ((mask[i] & REQUIRED) == REQUIRED && moving[i] && speed[i] != 0) {
+                Direction dir = EntityStore.DIRECTIONS[direction[i]];
+                if ((mask[i] & EntityStore.HITBOX) == 0 || !isBlocked(store, i, dir, result)) {
+                    switch (dir) {
+                        case Direction.UP -> nextY -= speed[i];
+                        case Direction.DOWN -> nextY += speed[i];
+                        case Direction.LEFT -> nextX -= speed[i];
+                        case Direction.RIGHT -> nextX += speed[i];
+                    }
+                }
+            }
+            intentX[i] = nextX;
+            intentY[i] = nextY;
+        }
+    }
+
+    /**
+     * Fase de aplicação, em uma única thread e em ordem densa.
+     */
+    private void applyIntents(EntityStore store) {
+        int[] mask = store.mask;
+        int[] x = store.x, y = store.y;
+        int[] prevX = store.prevX, prevY = store.prevY;
+        int count = store.count;
+
+        bodyIndex.clear();
+        for (int i = 0; i < count; i++) {
+            if (isBody(mask[i])) {
+                bodyIndex.insert(i, x[i] + store.boxX[i], y[i] + store.boxY[i], store.boxW[i], store.boxH[i]);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if ((mask[i] & REQUIRED) != REQUIRED) {
+                continue;
+            }
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            if (intentX[i] == x[i] && intentY[i] == y[i]) {
+                continue;
+            }
+            if (isBody(mask[i])) {
+                if (isOccupied(store, i)) {
+                    continue;
+                }
+                bodyIndex.move(i, intentX[i] + store.boxX[i], intentY[i] + store.boxY[i]);
+            }
+            x[i] = intentX[i];
+            y[i] = intentY[i];
+        }
+    }
+
+    private static boolean isBody(int mask) {
+        return (mask & BODY) == BODY && (mask & EntityStore.PICKUP) == 0;
+    }
+
+    /**
+     * @return true se a intenção da entidade levar sua caixa sobre outro corpo.
+     *         Corpos que já se sobrepunham podem se afastar livremente.
+     */
+    private boolean isOccupied(EntityStore store, int i) {
+        int boxW = store.boxW[i];
+        int boxH = store.boxH[i];
+        int fromX = store.x[i] + store.boxX[i];
+        int fromY = store.y[i] + store.boxY[i];
+        int toX = intentX[i] + store.boxX[i];
+        int toY = intentY[i] + store.boxY[i];
+
+        // Só a faixa que a caixa passa a cobrir pode trazer uma sobreposição nova
+        int queryX = toX, queryY = toY, queryW = boxW, queryH = boxH;
+        if (toY == fromY) {
+            queryX = toX > fromX ? Math.max(toX, fromX + boxW) : toX;
+            queryW = Math.min(boxW, Math.abs(toX - fromX));
+        } else if (toX == fromX) {
+            queryY = toY > fromY ? Math.max(toY, fromY + boxH) : toY;
+            queryH = Math.min(boxH, Math.abs(toY - fromY));
+        }
+
+        candidates.clear();
+        bodyIndex.query(queryX, queryY, queryW, queryH, candidates);
+        for (int k = 0; k < candidates.size(); k++) {
+            int other = candidates.get(k);
+            if (other == i) {
+                continue;
+            }
+            int otherX = store.x[other] + store.boxX[other];
+            int otherY = store.y[other] + store.boxY[other];
+            int otherW = store.boxW[other];
+            int otherH = store.boxH[other];
+            if (CollisionChecker.intersects(toX, toY, boxW, boxH, otherX, otherY, otherW, otherH)
+                    && !CollisionChecker.intersects(fromX, fromY, boxW, boxH, otherX, otherY, otherW, otherH)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBlocked(EntityStore store, int i, Direction dir, CollisionResult result) {
+        int boxX = store.x[i] + store.boxX[i];
+        int boxY = store.y[i] + store.boxY[i];
+        int boxW = store.boxW[i];
+        int boxH = store.boxH[i];
+        int speed = store.speed[i];
+
+        // A borda do mapa bloqueia como um tile sólido (a verificação de tiles
+        // inclui a borda direita e inferior da caixa)
+        TileManager tiles = world.getTileManager();
+        int movedX = boxX, movedY = boxY;
+        switch (dir) {
+            case Direction.UP -> movedY -= speed;
+            case Direction.DOWN -> movedY += speed;
+            case Direction.LEFT -> movedX -= speed;
+            case Direction.RIGHT -> movedX += speed;
+        }
+        boolean leaves = movedX < 0 || movedY < 0
+                || movedX + boxW >= tiles.getMaxWorldCol() * Config.TILE_SIZE
+                || movedY + boxH >= tiles.getMaxWorldRow() * Config.TILE_SIZE;
+        if (leaves || world.collisionChecker.isTileBlocked(boxX, boxY, boxW, boxH, dir, speed)) {
+            return true;
+        }
+        world.collisionChecker.checkObjects(boxX, boxY, boxW, boxH, dir, speed, result);
+        return result.blocked;
+    }
+
+    /**
+     * Calcula as intenções de um intervalo de lotes, dividindo-o ao meio até
+     * restar um único lote por tarefa.
+     */
+    private final class IntentTask extends RecursiveAction {
+        private final EntityStore store;
+        private final int firstBatch;
+        private final int endBatch;
+
+        IntentTask(EntityStore store, int firstBatch, int endBatch) {
+            this.store = store;
+            this.firstBatch = firstBatch;
+            this.endBatch = endBatch;
+        }
+
+        @Override
+        protected void compute() {
+            if (endBatch - firstBatch == 1) {
+                int from = firstBatch * batch;
+                computeIntents(store, from, Math.min(from + batch, store.count), results[firstBatch]);
+                return;
+            }
+            int middle = (firstBatch + endBatch) >>> 1;
+            invokeAll(new IntentTask(store, firstBatch, middle), new IntentTask(store, middle, endBatch));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package entity;
+
+import java.util.Arrays;
+
+import main.Config;
+import utils.CollisionChecker;
+import utils.IntList;
+import utils.SpatialHash;
+
+/**
+ * Recolhe os itens ({@link EntityStore#PICKUP}) tocados pelas entidades
+ * coletoras ({@link EntityStore#COLLECTOR}).
+ *
+ * A cada tick, os itens são indexados em um {@link SpatialHash} pela posição
+ * densa, e cada coletor consulta apenas as células ao seu redor. Os coletores
+ * são processados em ordem densa e os candidatos em ordem crescente: quando
+ * dois coletores tocam o mesmo item, o primeiro fica com ele. Os itens
+ * recolhidos são removidos do armazenamento ao final do tick.
+ */
+public class PickupSystem {
+
+    private static final int PICKUP = EntityStore.POSITION | EntityStore.HITBOX | EntityStore.PICKUP;
+    private static final int COLLECTOR = EntityStore.POSITION | EntityStore.HITBOX | EntityStore.COLLECTOR;
+
+    private final SpatialHash pickupIndex = new SpatialHash(Config.TILE_SIZE);
+    private final IntList candidates = new IntList();
+    private boolean[] consumed = new boolean[16];
+
+    /**
+     * Resolve as coletas de um tick.
+     *
+     * @param store Entidades participantes
+     * @return quantidade de itens recolhidos
+     */
+    public int update(EntityStore store) {
+        int[] mask = store.mask;
+        int count = store.count;
+
+        pickupIndex.clear();
+        for (int i = 0; i < count; i++) {
+            if ((mask[i] & PICKUP) == PICKUP) {
+                pickupIndex.insert(i, store.x[i] + store.boxX[i], store.y[i] + store.boxY[i],
+                        store.boxW[i], store.boxH[i]);
+            }
+        }
+        if (pickupIndex.size() == 0) {
+            return 0;
+        }
+
+        if (consumed.length < count) {
+            consumed = new boolean[store.mask.length];
+        } else {
+            Arrays.fill(consumed, 0, count, false);
+        }
+
+        int taken = 0;
+        for (int c = 0; c < count; c++) {
+            if ((mask[c] & COLLECTOR) != COLLECTOR) {
+                continue;
+            }
+            int cx = store.x[c] + store.boxX[c];
+            int cy = store.y[c] + store.boxY[c];
+
+            candidates.clear();
+            pickupIndex.query(cx, cy, store.boxW[c], store.boxH[c], candidates);
+            candidates.sort();
+            for (int k = 0; k < candidates.size(); k++) {
+                int p = candidates.get(k);
+                if (p == c || consumed[p]) {
+                    continue;
+                }
+                if (CollisionChecker.intersects(cx, cy, store.boxW[c], store.boxH[c],
+                        store.x[p] + store.boxX[p], store.y[p] + store.boxY[p], store.boxW[p], store.boxH[p])) {
+                    consumed[p] = true;
+                    store.collected[c]++;
+                    taken++;
+                }
+            }
+        }
+
+        // Remove do fim para o início: a remoção só move a última entidade,
+        // que nesse ponto já foi analisada
+        for (int i = count - 1; i >= 0; i--) {
+            if (consumed[i]) {
+                store.destroyAt(i);
+            }
+        }
+        return taken;
+    }
+}
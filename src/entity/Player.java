@@ -3,13 +3,15 @@ package entity;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
 import java.util.Map;
 
 import main.Config;
-import main.GamePanel;
-import main.KeyHandler;
+import main.GameAction;
+import main.GameWorld;
+import main.InputSource;
+import utils.AtlasRegion;
 import utils.Direction;
+import utils.Registry;
 import utils.SoundType;
 import utils.SpriteLoader;
 
@@ -19,8 +21,8 @@ import utils.SpriteLoader;
  * do teclado.
  */
 public class Player extends Entity {
-    private GamePanel gp;
-    private KeyHandler keyH;
+    private GameWorld world;
+    private InputSource input;
 
     public final int screenX;
     public final int screenY;
@@ -38,12 +40,12 @@ public class Player extends Entity {
     /**
      * Construtor do jogador.
      *
-     * @param gp   Referência ao painel principal do jogo
-     * @param keyH Manipulador de entrada do teclado
+     * @param world Simulação à qual o jogador pertence
+     * @param input Fonte dos comandos do jogador (teclado ou roteiro)
      */
-    public Player(GamePanel gp, KeyHandler keyH) {
-        this.gp = gp;
-        this.keyH = keyH;
+    public Player(GameWorld world, InputSource input) {
+        this.world = world;
+        this.input = input;
 
         // Posição fixa na tela onde o jogador será desenhado (centro da tela)
         // A câmera é centralizada no jogador, movendo o mundo ao redor dele
@@ -63,11 +65,6 @@ public class Player extends Entity {
         solidArea = new Rectangle();
         solidArea.x = 1;
         solidArea.y = 1;
-        // Armazena os valores originais da hitbox para permitir reset pós-colisão.
-        // Isso evita o deslocamento permanente da área sólida caso seja modificada
-        // dinamicamente.
-        solidAreaDefaultX = solidArea.x;
-        solidAreaDefaultY = solidArea.y;
         solidArea.width = Config.TILE_SIZE - Config.COLLISION_BOX_OFFSET;
         solidArea.height = Config.TILE_SIZE - Config.COLLISION_BOX_OFFSET;
 
@@ -83,23 +80,28 @@ public class Player extends Entity {
         this.worldY = Config.WORLD_INITIAL_Y;
         this.speed = Config.PLAYER_SPEED;
         direction = Direction.DOWN;
+        capturePreviousPosition();
     }
 
     /**
      * Carrega os sprites do jogador a partir dos recursos gráficos.
      */
     public void getPlayerImage() {
-        Map<String, BufferedImage[]> sprites = SpriteLoader.loadSprites(
+        Map<String, AtlasRegion[]> sprites = SpriteLoader.loadSprites(
                 "/res/player/player_sprites.json", "/res/player/");
 
-        up1 = sprites.get("UP")[0];
-        up2 = sprites.get("UP")[1];
-        down1 = sprites.get("DOWN")[0];
-        down2 = sprites.get("DOWN")[1];
-        left1 = sprites.get("LEFT")[0];
-        left2 = sprites.get("LEFT")[1];
-        right1 = sprites.get("RIGHT")[0];
-        right2 = sprites.get("RIGHT")[1];
+        upFrames = requireFrames(sprites, Direction.UP);
+        downFrames = requireFrames(sprites, Direction.DOWN);
+        leftFrames = requireFrames(sprites, Direction.LEFT);
+        rightFrames = requireFrames(sprites, Direction.RIGHT);
+    }
+
+    private static AtlasRegion[] requireFrames(Map<String, AtlasRegion[]> sprites, Direction direction) {
+        AtlasRegion[] frames = sprites.get(direction.name());
+        if (frames == null) {
+            throw new RuntimeException("Sprites do jogador sem a direção " + direction);
+        }
+        return frames;
     }
 
     /**
@@ -108,14 +110,19 @@ public class Player extends Entity {
     public void update() {
 
         if (moving == false) {
-            if (keyH.upPressed || keyH.downPressed || keyH.leftPressed || keyH.rightPressed) {
-                if (keyH.upPressed) {
+            boolean upPressed = input.isActive(GameAction.MOVE_UP);
+            boolean downPressed = input.isActive(GameAction.MOVE_DOWN);
+            boolean leftPressed = input.isActive(GameAction.MOVE_LEFT);
+            boolean rightPressed = input.isActive(GameAction.MOVE_RIGHT);
+
+            if (upPressed || downPressed || leftPressed || rightPressed) {
+                if (upPressed) {
                     direction = Direction.UP;
-                } else if (keyH.downPressed) {
+                } else if (downPressed) {
                     direction = Direction.DOWN;
-                } else if (keyH.leftPressed) {
+                } else if (leftPressed) {
                     direction = Direction.LEFT;
-                } else if (keyH.rightPressed) {
+                } else if (rightPressed) {
                     direction = Direction.RIGHT;
                 }
 
@@ -123,11 +130,11 @@ public class Player extends Entity {
 
                 // Check Tile Collision
                 collisionOn = false;
-                gp.collisionChecker.checkTile(this);
+                world.collisionChecker.checkTile(this);
 
                 // Verifica colisão com objetos interativos (como chaves e portas).
-                int objIndex = gp.collisionChecker.checkObject(this, true);
-                pickUpObject(objIndex);
+                int objHandle = world.collisionChecker.checkObject(this, true);
+                pickUpObject(objHandle);
             } else {
                 standCounter++;
 
@@ -160,7 +167,7 @@ public class Player extends Entity {
             spriteCounter++;
             // 60 FPS: trocar sprite a cada 10 frames → 6 mudanças por segundo
             if (spriteCounter > 10) {
-                spriteNumber = (spriteNumber == 1) ? 2 : 1;
+                spriteNumber = spriteNumber % framesFor(direction).length + 1;
                 spriteCounter = 0;
             }
             pixelCounter += speed;
@@ -172,45 +179,56 @@ public class Player extends Entity {
         }
     }
 
+    /**
+     * O jogador anda de tile em tile: {@code pixelCounter} conta os pixels do
+     * passo atual e volta a zero quando o passo termina.
+     *
+     * @return true se o jogador não estiver no meio de um passo (parado sobre
+     *         um tile)
+     */
+    public boolean isBetweenSteps() {
+        return pixelCounter == 0;
+    }
+
     /**
      * Trata a interação do jogador com objetos do mapa, como chaves e portas.
      * A lógica é baseada no nome do objeto.
      *
-     * @param i Índice do objeto colidido no array de objetos do mapa.
+     * @param handle Handle do objeto colidido, ou {@link Registry#NO_HANDLE}.
      */
-    public void pickUpObject(int i) {
-        if (i != 999) {
-            String objectName = gp.obj[i].name;
+    public void pickUpObject(int handle) {
+        if (handle != Registry.NO_HANDLE) {
+            String objectName = world.getObject(handle).name;
 
             switch (objectName) {
                 case "Key":
-                    gp.playSE(SoundType.COIN);
+                    world.events.playSE(SoundType.COIN);
                     addKey(1);
-                    gp.obj[i] = null;
-                    gp.ui.showMessage("Você pegou a chave!");
+                    world.removeObject(handle);
+                    world.events.showMessage("Você pegou a chave!");
                     break;
 
                 case "Door":
                     if (consumeKey()) {
-                        gp.playSE(SoundType.UNLOCK);
-                        gp.obj[i] = null;
-                        gp.ui.showMessage("Você abriu a porta!");
+                        world.events.playSE(SoundType.UNLOCK);
+                        world.removeObject(handle);
+                        world.events.showMessage("Você abriu a porta!");
                     } else {
-                        gp.ui.showMessage("Você precisa de uma chave!");
+                        world.events.showMessage("Você precisa de uma chave!");
                     }
                     break;
 
                 case "Boots":
-                    gp.playSE(SoundType.POWER_UP);
+                    world.events.playSE(SoundType.POWER_UP);
                     speed += 1;
-                    gp.obj[i] = null;
-                    gp.ui.showMessage("Velocidade aumentada!");
+                    world.removeObject(handle);
+                    world.events.showMessage("Velocidade aumentada!");
                     break;
 
                 case "Chest":
-                    gp.ui.gameFinished = true;
-                    gp.stopMusic();
-                    gp.playSE(SoundType.FANFARE);
+                    world.events.finishGame();
+                    world.events.stopMusic();
+                    world.events.playSE(SoundType.FANFARE);
                     break;
             }
         }
@@ -231,26 +249,11 @@ public class Player extends Entity {
      * @param g2 Contexto gráfico onde o jogador será desenhado
      */
     private void drawPlayer(Graphics2D g2) {
-        BufferedImage image = null;
-
-        switch (direction) {
-            case UP:
-                image = (spriteNumber == 1) ? up1 : up2;
-                break;
-            case DOWN:
-                image = (spriteNumber == 1) ? down1 : down2;
-                break;
-            case LEFT:
-                image = (spriteNumber == 1) ? left1 : left2;
-                break;
-            case RIGHT:
-                image = (spriteNumber == 1) ? right1 : right2;
-                break;
-            default:
-                break;
-        }
+        // Direções podem ter quantidades diferentes de quadros
+        AtlasRegion[] frames = framesFor(direction);
+        AtlasRegion image = frames[(spriteNumber - 1) % frames.length];
 
-        g2.drawImage(image, screenX, screenY, Config.TILE_SIZE, Config.TILE_SIZE, null);
+        image.draw(g2, screenX, screenY);
         // Verifica se a flag de debug está ativada antes de desenhar a hitbox do
         // jogador.
         // Essa lógica auxilia na depuração de colisões e alinhamento visual, sem
@@ -0,0 +1,94 @@
+package main;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+import utils.FramePhase;
+
+/**
+ * Renderizador ativo baseado em {@link Canvas} e {@link BufferStrategy}.
+ * Ao contrário do modo passivo (repaint()), o frame é desenhado e apresentado
+ * diretamente pela thread do jogo, sem ida e volta pela EDT. Isso torna o
+ * ritmo dos frames previsível e elimina a leitura concorrente do estado do
+ * jogador durante o paintComponent.
+ */
+public class ActiveRenderer {
+
+    private static final int BUFFER_COUNT = 3; // Triple buffering
+
+    private final GamePanel gp;
+    private final Canvas canvas = new Canvas();
+
+    private BufferStrategy strategy;
+
+    // Tempo gasto na última apresentação (show + sync), em nanossegundos
+    private long lastPresentNanos;
+
+    /**
+     * @param gp Painel do jogo cujo conteúdo será desenhado
+     */
+    public ActiveRenderer(GamePanel gp) {
+        this.gp = gp;
+
+        canvas.setPreferredSize(new Dimension(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT));
+        canvas.setBackground(Color.BLACK);
+        canvas.setIgnoreRepaint(true); // Pinturas do sistema são ignoradas; o jogo desenha sozinho
+        canvas.setFocusable(true);
+    }
+
+    /**
+     * @return componente onde os frames são apresentados
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Desenha e apresenta um frame completo.
+     * Deve ser chamado apenas pela thread do jogo. Enquanto o canvas ainda não
+     * estiver exibido na tela, a chamada é ignorada.
+     */
+    public void renderFrame() {
+        if (strategy == null) {
+            if (!canvas.isDisplayable()) {
+                return;
+            }
+            canvas.createBufferStrategy(BUFFER_COUNT);
+            strategy = canvas.getBufferStrategy();
+            canvas.requestFocus();
+        }
+
+        // Os laços seguem o protocolo do BufferStrategy: o conteúdo pode ser
+        // perdido ou restaurado pelo sistema a qualquer momento
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g2.setColor(Color.BLACK);
+                    g2.fillRect(0, 0, Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT);
+                    gp.render(g2);
+                } finally {
+                    g2.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            long presentStart = System.nanoTime();
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync(); // Evita atrasos de apresentação em sistemas X11
+            lastPresentNanos = System.nanoTime() - presentStart;
+            gp.getProfiler().recordDuration(FramePhase.PRESENT, lastPresentNanos);
+
+        } while (strategy.contentsLost());
+    }
+
+    /**
+     * @return duração da última apresentação do frame, em nanossegundos
+     */
+    public long getLastPresentNanos() {
+        return lastPresentNanos;
+    }
+}
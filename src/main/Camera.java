@@ -0,0 +1,81 @@
+package main;
+
+import entity.Player;
+
+/**
+ * Representa a câmera do jogo, ou seja, a janela do mundo (em pixels) que está
+ * visível na tela.
+ * A câmera acompanha o jogador, mantendo-o centralizado, e fornece a faixa de
+ * colunas e linhas visíveis para que os renderizadores percorram apenas essa
+ * região do mapa.
+ */
+public class Camera {
+
+    // Canto superior esquerdo da área visível, em coordenadas do mundo (pixels)
+    private int worldX;
+    private int worldY;
+
+    /**
+     * Posiciona a câmera de forma que o jogador fique em sua posição fixa na tela.
+     *
+     * @param player Jogador acompanhado pela câmera
+     */
+    public void follow(Player player) {
+        follow(player, 1f);
+    }
+
+    /**
+     * Posiciona a câmera sobre a posição do jogador interpolada entre o tick
+     * anterior e o atual, suavizando o movimento quando a taxa de desenho difere
+     * da taxa de simulação.
+     *
+     * @param player Jogador acompanhado pela câmera
+     * @param alpha  Fração (0..1) do tick decorrida desde a última atualização
+     */
+    public void follow(Player player, float alpha) {
+        this.worldX = player.interpolatedX(alpha) - player.screenX;
+        this.worldY = player.interpolatedY(alpha) - player.screenY;
+    }
+
+    /**
+     * @return coordenada X do mundo correspondente à borda esquerda da tela
+     */
+    public int getWorldX() {
+        return worldX;
+    }
+
+    /**
+     * @return coordenada Y do mundo correspondente à borda superior da tela
+     */
+    public int getWorldY() {
+        return worldY;
+    }
+
+    /**
+     * @return primeira coluna do mapa (possivelmente fora do mundo) tocada pela tela
+     */
+    public int firstVisibleCol() {
+        return Math.floorDiv(worldX, Config.TILE_SIZE);
+    }
+
+    /**
+     * @return última coluna do mapa (possivelmente fora do mundo) tocada pela tela
+     */
+    public int lastVisibleCol() {
+        return Math.floorDiv(worldX + Config.SCREEN_WIDTH - 1, Config.TILE_SIZE);
+    }
+
+    /**
+     * @return primeira linha do mapa (possivelmente fora do mundo) tocada pela tela
+     */
+    public int firstVisibleRow() {
+        return Math.floorDiv(worldY, Config.TILE_SIZE);
+    }
+
+    /**
+     * @return última linha do mapa (possivelmente fora do mundo) tocada pela tela
+     */
+    public int lastVisibleRow() {
+        return Math.floorDiv(worldY + Config.SCREEN_HEIGHT - 1, Config.TILE_SIZE);
+    }
+}
@@ -7,6 +7,9 @@ import java.util.EnumMap;
 import java.util.Map;
 import java.util.Properties;
 
+import tile.TileRenderMode;
+import utils.ProfilerDumpFormat;
+
 /**
  * Classe de configuração dinâmica do jogo.
  * Carrega e valida os parâmetros de tela, controles, FPS e jogador a partir do
@@ -38,9 +41,27 @@ public class Config {
     public static int WORLD_INITIAL_Y;
     public static int PLAYER_SPEED;
     public static int FPS;
-    public static boolean ENABLE_FPS_MONITOR;
+    public static boolean PROFILER_ENABLED;
+    public static boolean PROFILER_OVERLAY;
+    public static boolean PROFILER_JMX;
+    public static int PROFILER_INTERVAL_SECONDS;
+    public static ProfilerDumpFormat PROFILER_DUMP_FORMAT;
+    public static String PROFILER_DUMP_PATH;
+    public static LoopMode LOOP_MODE;
+    public static int LOOP_TICK_RATE;
+    public static int LOOP_MAX_CATCH_UP_TICKS;
+    public static int LOOP_SPIN_MICROS;
     public static int COLLISION_BOX_OFFSET;
 
+    // ================
+    // Renderização
+    // ================
+    public static RenderMode RENDER_MODE;
+    public static int RENDER_OVERSCAN_TILES;
+    public static TileRenderMode RENDER_TILE_MODE;
+    public static int RENDER_CACHE_CHUNK_TILES;
+    public static int RENDER_PARALLEL_THREADS;
+
     // ================
     // Debug
     // ================
@@ -52,12 +73,44 @@ public class Config {
     public static String TILE_CONFIG_PATH;
     public static String TILE_IMAGE_BASE;
     public static String MAP_DEFAULT_PATH;
+    public static int ASSETS_LOADER_THREADS;
+    public static boolean ASSETS_CACHE_ENABLED;
+    public static String ASSETS_CACHE_DIR;
+    public static int ASSETS_CACHE_MAX_MEGABYTES;
+
+    // ================
+    // Mundo
+    // ================
+    public static int WORLD_CHUNK_SIZE;
+    public static int WORLD_MAX_LOADED_CHUNKS;
+    public static int WORLD_STREAM_RADIUS_CHUNKS;
+    public static int ENTITIES_PARALLEL_THREADS;
+    public static int ENTITIES_PARALLEL_BATCH;
+
+    // ================
+    // Navegação
+    // ================
+    public static int PATH_THREADS;
+    public static int PATH_BUDGET_PER_TICK;
+    public static int PATH_CLUSTER_SIZE;
+    public static int PATH_CACHE_SIZE;
+    public static int FLOWFIELD_RADIUS;
 
     // ================
     // UI
     // ================
     public static int UI_MESSAGE_DISPLAY_FRAMES;
 
+    // ================
+    // Som
+    // ================
+    public static int SOUND_VOICES;
+
+    // ================
+    // Entrada
+    // ================
+    public static int INPUT_QUEUE_CAPACITY;
+
     // ================
     // Mapeamento de teclas para ações do jogo
     // ================
@@ -89,6 +142,28 @@ public class Config {
             TILE_CONFIG_PATH = props.getProperty("tile.config.path", "/res/tiles/tiles.json").trim();
             TILE_IMAGE_BASE = props.getProperty("tile.image.base", "/res/tiles/").trim();
             MAP_DEFAULT_PATH = props.getProperty("map.default.path", "/res/maps/map01.txt").trim();
+            ASSETS_LOADER_THREADS = parseNonNegativeInt(props, "assets.loaderThreads");
+            ASSETS_CACHE_ENABLED = parseBoolean(props, "assets.cache.enabled");
+            ASSETS_CACHE_DIR = props.getProperty("assets.cache.dir", "cache/assets").trim();
+            ASSETS_CACHE_MAX_MEGABYTES = parsePositiveInt(props, "assets.cache.maxMegabytes");
+
+            // Divisão do mundo em blocos carregados sob demanda
+            WORLD_CHUNK_SIZE = parsePositiveInt(props, "world.chunkSize");
+            WORLD_MAX_LOADED_CHUNKS = parsePositiveInt(props, "world.maxLoadedChunks");
+            WORLD_STREAM_RADIUS_CHUNKS = parseNonNegativeInt(props, "world.streamRadiusChunks");
+
+            // Atualização paralela das entidades (0 = uma thread por processador)
+            ENTITIES_PARALLEL_THREADS = parseNonNegativeInt(props, "entities.parallel.threads");
+            ENTITIES_PARALLEL_BATCH = parsePositiveInt(props, "entities.parallel.batch");
+
+            // Busca de caminhos: threads, pedidos por tick, grupos da busca hierárquica e cache
+            PATH_THREADS = parseNonNegativeInt(props, "path.threads");
+            PATH_BUDGET_PER_TICK = parsePositiveInt(props, "path.budgetPerTick");
+            PATH_CLUSTER_SIZE = parsePositiveInt(props, "path.clusterSize");
+            PATH_CACHE_SIZE = parsePositiveInt(props, "path.cacheSize");
+
+            // Raio (em tiles) do campo de fluxo ao redor do jogador
+            FLOWFIELD_RADIUS = parsePositiveInt(props, "flowfield.radius");
 
             DEBUG_SHOW_HITBOX = parseBoolean(props, "debug.showHitbox");
 
@@ -100,6 +175,9 @@ public class Config {
             // Tempo de duração para exibir mensagem
             UI_MESSAGE_DISPLAY_FRAMES = parsePositiveInt(props, "ui.message.display.frames");
 
+            // Efeitos sonoros que podem tocar ao mesmo tempo (além da música)
+            SOUND_VOICES = parsePositiveInt(props, "sound.voices");
+
             // Calcula posição inicial do jogador no mundo com base na posição em tiles
             // Isso garante acoplamento com a lógica de mapa/scroll
             int initialWorldTileX = parsePositiveInt(props, "worldInitialX");
@@ -112,7 +190,36 @@ public class Config {
 
             // Configuração de FPS
             FPS = parsePositiveInt(props, "fps");
-            ENABLE_FPS_MONITOR = parseBoolean(props, "enableFpsMonitor");
+
+            // Instrumentação dos frames (overlay, JMX e gravação periódica)
+            PROFILER_ENABLED = parseBoolean(props, "profiler.enabled");
+            PROFILER_OVERLAY = parseBoolean(props, "profiler.overlay");
+            PROFILER_JMX = parseBoolean(props, "profiler.jmx");
+            PROFILER_INTERVAL_SECONDS = parsePositiveInt(props, "profiler.intervalSeconds");
+            PROFILER_DUMP_FORMAT = parseEnum(props, "profiler.dump.format", ProfilerDumpFormat.class);
+            PROFILER_DUMP_PATH = props.getProperty("profiler.dump.path", "frame-stats.csv").trim();
+
+            // Loop principal: estratégia, taxa de simulação e limites de recuperação/espera
+            LOOP_MODE = parseEnum(props, "loop.mode", LoopMode.class);
+            LOOP_TICK_RATE = parsePositiveInt(props, "loop.tickRate");
+            LOOP_MAX_CATCH_UP_TICKS = parsePositiveInt(props, "loop.maxCatchUpTicks");
+            LOOP_SPIN_MICROS = parseNonNegativeInt(props, "loop.spinMicros");
+
+            // Modo de apresentação dos frames (passivo via repaint ou ativo via BufferStrategy)
+            RENDER_MODE = parseEnum(props, "render.mode", RenderMode.class);
+
+            // Margem extra (em tiles) desenhada ao redor da área visível
+            RENDER_OVERSCAN_TILES = parseNonNegativeInt(props, "render.overscanTiles");
+
+            // Estratégia de desenho dos tiles e tamanho (em tiles) dos blocos em cache
+            RENDER_TILE_MODE = parseEnum(props, "render.tiles.mode", TileRenderMode.class);
+            RENDER_CACHE_CHUNK_TILES = parsePositiveInt(props, "render.cache.chunkTiles");
+
+            // Threads do rasterizador paralelo (0 = uma por processador)
+            RENDER_PARALLEL_THREADS = parseNonNegativeInt(props, "render.parallel.threads");
+
+            // Eventos de teclado enfileirados entre a EDT e a thread do jogo
+            INPUT_QUEUE_CAPACITY = parsePositiveInt(props, "input.queueCapacity");
 
             // Mapeamento de teclas
             loadKeyBindings(props);
@@ -181,6 +288,57 @@ public class Config {
         }
     }
 
+    /**
+     * Lê e valida uma propriedade obrigatória do tipo inteiro não negativo.
+     *
+     * @param props Objeto Properties carregado do arquivo
+     * @param key   Nome da propriedade a ser validada
+     * @return Valor inteiro maior ou igual a zero
+     * @throws IllegalArgumentException se a propriedade for ausente, inválida ou
+     *                                  negativa
+     */
+    private static int parseNonNegativeInt(Properties props, String key) {
+        String value = props.getProperty(key);
+
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("A propriedade obrigatória '" + key + "' está ausente.");
+        }
+
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException("O valor de '" + key + "' não pode ser negativo.");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("O valor de '" + key + "' deve ser um número inteiro válido.");
+        }
+    }
+
+    /**
+     * Lê e valida uma propriedade obrigatória cujo valor deve ser uma constante do
+     * enum informado (sem diferenciar maiúsculas e minúsculas).
+     *
+     * @param props Objeto Properties carregado do arquivo
+     * @param key   Nome da propriedade a ser validada
+     * @param type  Classe do enum esperado
+     * @return Constante do enum correspondente ao valor
+     * @throws IllegalArgumentException se a propriedade for ausente ou inválida
+     */
+    private static <E extends Enum<E>> E parseEnum(Properties props, String key, Class<E> type) {
+        String value = props.getProperty(key);
+
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("A propriedade obrigatória '" + key + "' está ausente.");
+        }
+
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor inválido para '" + key + "': " + value.trim());
+        }
+    }
+
     /**
      * Carrega e associa teclas do config.properties a ações do enum GameAction.
      */
@@ -0,0 +1,35 @@
+package main;
+
+import utils.SoundType;
+
+/**
+ * Eventos emitidos pela simulação para o ambiente que a hospeda.
+ * O {@link GamePanel} os traduz em sons e mensagens na tela; no modo headless
+ * eles são apenas contabilizados.
+ */
+public interface GameEvents {
+
+    /**
+     * Solicita a reprodução de um efeito sonoro.
+     *
+     * @param type Tipo de efeito sonoro
+     */
+    void playSE(SoundType type);
+
+    /**
+     * Solicita a interrupção da música de fundo.
+     */
+    void stopMusic();
+
+    /**
+     * Solicita a exibição de uma mensagem temporária ao jogador.
+     *
+     * @param text Texto da mensagem
+     */
+    void showMessage(String text);
+
+    /**
+     * Notifica que o objetivo do jogo foi alcançado.
+     */
+    void finishGame();
+}
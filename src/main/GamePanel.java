@@ -1,51 +1,45 @@
 package main;
 
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.JPanel;
 
-import entity.Player;
 import objects.SuperObject;
 import tile.TileManager;
-import utils.AssetSetter;
-import utils.CollisionChecker;
-import utils.FpsMonitor;
+import utils.FramePhase;
+import utils.FrameProfiler;
+import utils.IntList;
 import utils.SoundType;
 
 /**
  * GamePanel representa o componente gráfico principal onde o jogo é
  * renderizado.
- * Contém o loop principal de atualização/desenho e manipula o estado do jogador
- * com base nas entradas.
+ * Contém o loop principal de atualização/desenho e hospeda o {@link GameWorld},
+ * traduzindo os eventos da simulação em sons e mensagens na tela.
  */
-public class GamePanel extends JPanel implements Runnable, GameLoopController {
-
-    private TileManager tileManager = new TileManager(this); // Gerenciador responsável por carregar e desenhar o mapa
+public class GamePanel extends JPanel implements Runnable, GameLoopController, GameEvents {
 
     // Manipulador de teclas, escutando eventos definidos via configuração
     private final KeyHandler keyH = new KeyHandler();
 
-    public CollisionChecker collisionChecker = new CollisionChecker(this);
-
-    Sound music = new Sound();
-    Sound se = new Sound();
-
-    public AssetSetter aSetter = new AssetSetter(this);
+    // Motor de som: música e efeitos mixados em uma thread de áudio própria
+    private final Sound sound = new Sound();
 
-    // Instancia o jogador, passando o painel atual e o manipulador de teclas
-    public Player player = new Player(this, keyH);
+    // Simulação do jogo (mapa, jogador, objetos), dirigida pelo teclado
+    public final GameWorld world = new GameWorld(this, keyH);
 
-    // Array que armazena todos os objetos ativos no mapa.
-    public SuperObject obj[] = new SuperObject[10];
+    public UI ui = new UI(this);
 
-    // World Settings
-    public static final int MAX_WORLD_COL = 50;
-    public static final int MAX_WORLD_ROW = 50;
+    // Câmera que define a região do mundo visível na tela
+    public final Camera camera = new Camera();
 
-    public UI ui = new UI(this);
+    // Renderizador ativo (BufferStrategy); null quando o modo passivo está em uso
+    private final ActiveRenderer activeRenderer;
 
     // Thread dedicada ao loop principal do jogo (uso de volatile para garantir
     // visibilidade entre threads)
@@ -58,19 +52,38 @@ public class GamePanel extends JPanel implements Runnable, GameLoopController {
     // Frames por segundo desejados
     private final int FPS = Config.FPS;
 
-    // Monitoramento de FPS para debug (inicialmente desativado)
-    private final FpsMonitor fpsMonitor = new FpsMonitor(Config.ENABLE_FPS_MONITOR);
+    // Fração (0..1) do passo de simulação decorrida desde a última atualização,
+    // usada para interpolar posições no momento do desenho
+    private volatile float renderAlpha = 1f;
+
+    // Instrumentação dos tempos de cada fase do frame (debug opcional)
+    private final FrameProfiler profiler = new FrameProfiler(Config.PROFILER_ENABLED, Config.FPS);
+
+    // Buffer reutilizado com os objetos próximos da área visível a cada frame
+    private final IntList visibleObjects = new IntList();
 
     /**
      * Construtor do painel do jogo.
      * Define o tamanho, a cor de fundo e inicializa escuta de teclado.
+     * No modo de renderização ativo, o painel passa a hospedar o canvas onde a
+     * thread do jogo apresenta os frames.
      */
     public GamePanel() {
         this.setPreferredSize(new Dimension(Config.SCREEN_WIDTH, Config.SCREEN_HEIGHT));
         this.setBackground(Color.BLACK);
-        this.setDoubleBuffered(true); // Minimiza flickering na renderização
-        this.addKeyListener(keyH); // Permite detectar entradas do jogador
-        this.setFocusable(true); // Garante que o painel pode receber foco do teclado
+
+        if (Config.RENDER_MODE == RenderMode.ACTIVE) {
+            activeRenderer = new ActiveRenderer(this);
+            this.setLayout(new BorderLayout());
+            this.setIgnoreRepaint(true);
+            this.add(activeRenderer.getCanvas(), BorderLayout.CENTER);
+            activeRenderer.getCanvas().addKeyListener(keyH); // O canvas recebe o foco do teclado
+        } else {
+            activeRenderer = null;
+            this.setDoubleBuffered(true); // Minimiza flickering na renderização
+            this.addKeyListener(keyH); // Permite detectar entradas do jogador
+            this.setFocusable(true); // Garante que o painel pode receber foco do teclado
+        }
     }
 
     /**
@@ -80,17 +93,27 @@ public class GamePanel extends JPanel implements Runnable, GameLoopController {
      * Ideal para futuras expansões como carregamento de NPCs, inimigos ou itens.
      */
     public void setupGame() {
-        aSetter.setObject(); // Posiciona os objetos no mundo com base em posições predefinidas
+        world.setupObjects(); // Posiciona os objetos no mundo com base em posições predefinidas
         playMusic(SoundType.BLUEBOY_THEME);
     }
 
     /**
      * Loop principal do jogo.
-     * Controla a taxa de atualização baseada no tempo e garante consistência de
-     * FPS.
+     * Delega para a estratégia configurada em `loop.mode`.
      */
     @Override
     public void run() {
+        switch (Config.LOOP_MODE) {
+            case FIXED -> runFixedStepLoop();
+            case LEGACY -> runLegacyLoop();
+        }
+    }
+
+    /**
+     * Loop original: uma atualização e um desenho por frame, controlados por
+     * espera ativa sobre System.nanoTime().
+     */
+    private void runLegacyLoop() {
         double drawInterval = 1000000000.0 / FPS; // nanosegundos por frame
         double delta = 0;
         long lastTime = System.nanoTime();
@@ -103,27 +126,125 @@ public class GamePanel extends JPanel implements Runnable, GameLoopController {
 
             if (delta >= 1) {
                 update(); // Atualiza o estado do jogo (ex: movimentação)
-                repaint(); // Redesenha os elementos na tela
+                present(); // Redesenha os elementos na tela
                 delta--;
 
-                fpsMonitor.frameRendered(); // Registra que um frame foi renderizado (debug opcional)
+                profiler.frameCompleted(); // Registra que um frame foi concluído (debug opcional)
+            }
+        }
+    }
+
+    /**
+     * Loop de passo fixo.
+     * A simulação avança em ticks de duração constante (`loop.tickRate`),
+     * independentemente da taxa de desenho (`fps`). Ticks atrasados são
+     * recuperados até o limite `loop.maxCatchUpTicks` por frame; o excedente é
+     * descartado para que um frame lento não trave o jogo em recuperação.
+     * Entre os frames a thread dorme, girando apenas na fração final da espera.
+     */
+    private void runFixedStepLoop() {
+        final long tickNanos = 1_000_000_000L / Config.LOOP_TICK_RATE;
+        final long frameNanos = 1_000_000_000L / FPS;
+
+        long previousTime = System.nanoTime();
+        long nextFrameTime = previousTime;
+        long accumulator = 0;
+
+        while (gameThread != null) {
+            long currentTime = System.nanoTime();
+            accumulator += currentTime - previousTime;
+            previousTime = currentTime;
+
+            int ticks = 0;
+            while (accumulator >= tickNanos && ticks < Config.LOOP_MAX_CATCH_UP_TICKS) {
+                update(currentTime - accumulator + tickNanos); // Fim do intervalo simulado pelo tick
+                accumulator -= tickNanos;
+                ticks++;
+            }
+            if (accumulator >= tickNanos) {
+                accumulator %= tickNanos; // Descarta o atraso que excede o limite de recuperação
+            }
+
+            renderAlpha = (float) accumulator / tickNanos;
+            present();
+            profiler.frameCompleted();
+
+            nextFrameTime += frameNanos;
+            if (nextFrameTime < System.nanoTime() - frameNanos) {
+                nextFrameTime = System.nanoTime(); // Muito atrasado: não tenta compensar frames perdidos
+            }
+            if (!sleepUntil(nextFrameTime)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aguarda até o instante informado estacionando a thread e girando apenas no
+     * último trecho (`loop.spinMicros`), onde a imprecisão do escalonador do
+     * sistema operacional comprometeria o ritmo dos frames.
+     *
+     * @param deadline instante alvo, na escala de System.nanoTime()
+     * @return false se a thread foi interrompida durante a espera
+     */
+    private boolean sleepUntil(long deadline) {
+        final long spinNanos = Config.LOOP_SPIN_MICROS * 1_000L;
+
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > spinNanos) {
+            LockSupport.parkNanos(remaining - spinNanos);
+            if (Thread.interrupted()) {
+                return false;
             }
         }
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    /**
+     * @return quantidade de atualizações da simulação por segundo no loop ativo
+     */
+    public int getTickRate() {
+        return Config.LOOP_MODE == LoopMode.FIXED ? Config.LOOP_TICK_RATE : FPS;
     }
 
     /**
-     * Atualiza o estado do jogo.
-     * Neste momento, apenas o jogador é atualizado, mas futuros elementos (NPCs,
-     * inimigos etc.)
-     * também devem ser chamados aqui.
+     * Atualiza o estado do jogo: avança a simulação e os contadores da interface.
      */
     public void update() {
-        player.update();
+        update(System.nanoTime());
     }
 
     /**
-     * Método responsável por desenhar todos os elementos gráficos da tela.
-     * Executa a renderização na ordem correta: mapa (tiles), objetos, jogador.
+     * @param inputDeadline instante até o qual os eventos de teclado entram
+     *                      neste tick; nos ticks de recuperação do loop de
+     *                      passo fixo, cada evento cai no tick do seu instante
+     */
+    private void update(long inputDeadline) {
+        long start = profiler.now();
+        keyH.poll(inputDeadline);
+        world.update();
+        ui.update();
+        profiler.record(FramePhase.UPDATE, start);
+    }
+
+    /**
+     * Apresenta o frame atual de acordo com o modo de renderização: desenha
+     * diretamente pela thread do jogo (ativo) ou agenda um repaint na EDT
+     * (passivo).
+     */
+    private void present() {
+        if (activeRenderer != null) {
+            activeRenderer.renderFrame();
+        } else {
+            repaint();
+        }
+    }
+
+    /**
+     * Método chamado pelo Swing no modo de renderização passivo.
      *
      * @param g Contexto gráfico fornecido pelo Swing.
      */
@@ -132,35 +253,73 @@ public class GamePanel extends JPanel implements Runnable, GameLoopController {
         super.paintComponent(g); // limpa o painel antes de desenhar
 
         Graphics2D g2 = (Graphics2D) g;
+        render(g2);
+        g2.dispose(); // Libera recursos gráficos
+    }
+
+    /**
+     * Método responsável por desenhar todos os elementos gráficos da tela.
+     * Executa a renderização na ordem correta: mapa (tiles), objetos, jogador.
+     * Compartilhado pelos modos de renderização passivo e ativo.
+     *
+     * @param g2 Contexto gráfico de destino do frame
+     */
+    public void render(Graphics2D g2) {
+        // Posiciona a câmera sobre o jogador (interpolado entre os dois últimos
+        // ticks) antes de desenhar o mundo
+        float alpha = renderAlpha;
+        camera.follow(world.player, alpha);
+
+        long t = profiler.now();
 
         // TILE
-        tileManager.draw(g2); // Solicita ao TileManager que desenhe o mapa antes do jogador
+        world.getTileManager().draw(g2, camera); // Desenha o mapa antes do jogador
+        t = profiler.record(FramePhase.TILES, t);
 
         // OBJECT
-        // Percorre o array de objetos e desenha apenas os não-nulos
-        for (int i = 0; i < obj.length; i++) {
-            if (obj[i] != null) {
-                obj[i].draw(g2, this);
+        // Consulta no índice espacial apenas os objetos próximos da área visível
+        // (com um tile de margem, já que a imagem pode exceder a área sólida)
+        visibleObjects.clear();
+        world.queryObjects(camera.getWorldX() - Config.TILE_SIZE, camera.getWorldY() - Config.TILE_SIZE,
+                Config.SCREEN_WIDTH + 2 * Config.TILE_SIZE, Config.SCREEN_HEIGHT + 2 * Config.TILE_SIZE,
+                visibleObjects);
+        visibleObjects.sort(); // Mantém a ordem de desenho por índice
+        for (int i = 0; i < visibleObjects.size(); i++) {
+            SuperObject object = world.getObject(visibleObjects.get(i));
+            if (object != null) {
+                object.draw(g2, camera);
             }
         }
+        world.getAnimationSystem().draw(world.getEntities(), g2, camera, alpha);
+        t = profiler.record(FramePhase.OBJECTS, t);
 
         // PLAYER
         // Desenha o jogador na tela utilizando o contexto gráfico 2D
-        player.draw(g2);
+        world.player.draw(g2);
+        t = profiler.record(FramePhase.PLAYER, t);
 
         ui.draw(g2);
-
-        g2.dispose(); // Libera recursos gráficos
+        if (Config.PROFILER_OVERLAY) {
+            ui.drawProfilerOverlay(g2, profiler.getLatest());
+        }
+        profiler.record(FramePhase.UI, t);
     }
 
     /**
-     * Permite ativar ou desativar o monitoramento de FPS dinamicamente.
+     * Permite ativar ou desativar a instrumentação dos frames dinamicamente.
      * Útil para ambientes de desenvolvimento e depuração.
      *
-     * @param enabled true para ativar a exibição de FPS, false para desativar
+     * @param enabled true para ativar a coleta de tempos, false para desativar
+     */
+    public void setProfilerEnabled(boolean enabled) {
+        profiler.setEnabled(enabled);
+    }
+
+    /**
+     * @return instrumentação dos tempos de frame
      */
-    public void setFpsMonitorEnabled(boolean enabled) {
-        fpsMonitor.setEnabled(enabled);
+    public FrameProfiler getProfiler() {
+        return profiler;
     }
 
     /**
@@ -169,7 +328,7 @@ public class GamePanel extends JPanel implements Runnable, GameLoopController {
      * @return instância de TileManager
      */
     public TileManager getTileManager() {
-        return tileManager;
+        return world.getTileManager();
     }
 
     /**
@@ -179,26 +338,44 @@ public class GamePanel extends JPanel implements Runnable, GameLoopController {
      * @param type Tipo de música a ser reproduzida
      */
     public void playMusic(SoundType type) {
-        music.setFile(type);
-        music.play();
-        music.loop();
+        sound.playMusic(type);
     }
 
     /**
      * Para a reprodução da música atual.
      */
+    @Override
     public void stopMusic() {
-        music.stop();
+        sound.stopMusic();
     }
 
     /**
-     * Reproduz um efeito sonoro (Sound Effect) uma única vez.
+     * Reproduz um efeito sonoro (Sound Effect) uma única vez, sem interromper
+     * os demais sons em reprodução.
      *
      * @param type Tipo de efeito sonoro a ser reproduzido
      */
+    @Override
     public void playSE(SoundType type) {
-        se.setFile(type);
-        se.play();
+        sound.playEffect(type);
+    }
+
+    /**
+     * Exibe na HUD uma mensagem emitida pela simulação.
+     *
+     * @param text Texto a ser exibido
+     */
+    @Override
+    public void showMessage(String text) {
+        ui.showMessage(text);
+    }
+
+    /**
+     * Exibe a tela de conclusão quando a simulação sinaliza o fim do jogo.
+     */
+    @Override
+    public void finishGame() {
+        ui.gameFinished = true;
     }
 
     /**
@@ -229,6 +406,7 @@ public class GamePanel extends JPanel implements Runnable, GameLoopController {
      */
     @Override
     public void startGameThread() {
+        profiler.start();
         gameThread = new Thread(this);
         gameThread.start();
     }
@@ -0,0 +1,237 @@
+package main;
+
+import ai.FlowField;
+import ai.PathService;
+import entity.AnimationSystem;
+import entity.EntityStore;
+import entity.MovementSystem;
+import entity.PickupSystem;
+import entity.Player;
+import objects.SuperObject;
+import tile.TileManager;
+import utils.AssetSetter;
+import utils.CollisionChecker;
+import utils.IntList;
+import utils.Registry;
+import utils.SpatialHash;
+
+/**
+ * Núcleo da simulação do jogo: mapa, jogador, objetos e detecção de colisão.
+ * Não depende de Swing nem de um display; o {@link GamePanel} o hospeda para
+ * jogar em janela, e o {@link HeadlessGame} o executa sem renderização (testes
+ * de estabilidade e medições de desempenho em máquinas sem servidor X).
+ */
+public class GameWorld {
+
+    // Destino dos eventos da simulação (sons, mensagens, fim de jogo)
+    public final GameEvents events;
+
+    private final TileManager tileManager; // Gerenciador responsável pelo mapa
+
+    public final CollisionChecker collisionChecker = new CollisionChecker(this);
+
+    public final AssetSetter aSetter = new AssetSetter(this);
+
+    // Objetos ativos no mapa, identificados por handles estáveis
+    private final Registry<SuperObject> objects = new Registry<>();
+
+    // Índice espacial dos objetos (pelo slot do handle), por célula de tile, para colisão e desenho
+    private final SpatialHash objectIndex = new SpatialHash(Config.TILE_SIZE);
+
+    public final Player player;
+
+    // Entidades simuladas em massa (NPCs, itens no chão) e os sistemas que as atualizam
+    private final EntityStore entities = new EntityStore();
+    private final MovementSystem movementSystem = new MovementSystem(this);
+    private final AnimationSystem animationSystem = new AnimationSystem();
+    private final PickupSystem pickupSystem = new PickupSystem();
+
+    // Busca de caminhos sobre o mapa, atualizada a cada alteração de tile
+    private final PathService paths;
+
+    // Direções rumo ao jogador, para os agentes que o perseguem
+    private final FlowField flowField;
+
+    // Quantidade de ticks simulados desde a criação do mundo
+    private long tickCount = 0;
+
+    /**
+     * @param events Destino dos eventos emitidos pela simulação
+     * @param input  Fonte dos comandos do jogador
+     */
+    public GameWorld(GameEvents events, InputSource input) {
+        this(events, input, new TileManager());
+    }
+
+    /**
+     * Cria a simulação sobre um mapa já preparado (ex: mundos gerados por código).
+     *
+     * @param events      Destino dos eventos emitidos pela simulação
+     * @param input       Fonte dos comandos do jogador
+     * @param tileManager Mapa sobre o qual a simulação ocorre
+     */
+    public GameWorld(GameEvents events, InputSource input, TileManager tileManager) {
+        this.events = events;
+        this.tileManager = tileManager;
+        this.player = new Player(this, input);
+        this.paths = new PathService(tileManager);
+        tileManager.addChangeListener(paths);
+        this.flowField = new FlowField(tileManager);
+        tileManager.addChangeListener(flowField);
+    }
+
+    /**
+     * Posiciona os objetos no mundo com base em posições predefinidas.
+     */
+    public void setupObjects() {
+        aSetter.setObject();
+    }
+
+    /**
+     * Adiciona um objeto ao mundo na posição (worldX, worldY) já definida nele.
+     *
+     * @param object Objeto a ser adicionado
+     * @return handle do objeto, usado nas demais operações
+     */
+    public int addObject(SuperObject object) {
+        int handle = objects.add(object);
+        objectIndex.insert(Registry.slotOf(handle), object.worldX + object.solidArea.x,
+                object.worldY + object.solidArea.y, object.solidArea.width, object.solidArea.height);
+        return handle;
+    }
+
+    /**
+     * Remove um objeto do mundo (ex: item coletado, porta aberta).
+     * Handles já removidos são ignorados.
+     *
+     * @param handle Handle do objeto
+     */
+    public void removeObject(int handle) {
+        if (objects.remove(handle)) {
+            objectIndex.remove(Registry.slotOf(handle));
+        }
+    }
+
+    /**
+     * Move um objeto do mundo, mantendo o índice espacial atualizado.
+     *
+     * @param handle Handle do objeto
+     * @param worldX Nova posição X, em pixels do mundo
+     * @param worldY Nova posição Y, em pixels do mundo
+     */
+    public void moveObject(int handle, int worldX, int worldY) {
+        SuperObject object = objects.get(handle);
+        if (object == null) {
+            throw new IllegalArgumentException("Objeto inexistente: " + handle);
+        }
+        object.worldX = worldX;
+        object.worldY = worldY;
+        objectIndex.move(Registry.slotOf(handle), worldX + object.solidArea.x, worldY + object.solidArea.y);
+    }
+
+    /**
+     * @param handle Handle do objeto
+     * @return objeto do handle, ou null se ele já tiver sido removido
+     */
+    public SuperObject getObject(int handle) {
+        return objects.get(handle);
+    }
+
+    /**
+     * Adiciona a {@code out} os handles dos objetos cuja área sólida pode
+     * interceptar a região informada (em pixels do mundo). O resultado é uma
+     * lista de candidatos: o teste exato de interseção cabe a quem consulta.
+     *
+     * @param x   Borda esquerda da região
+     * @param y   Borda superior da região
+     * @param w   Largura da região
+     * @param h   Altura da região
+     * @param out Destino dos handles (não é limpo)
+     */
+    public void queryObjects(int x, int y, int w, int h, IntList out) {
+        int first = out.size();
+        objectIndex.query(x, y, w, h, out);
+
+        // O índice espacial guarda slots; converte-os para os handles atuais
+        for (int i = first; i < out.size(); i++) {
+            out.set(i, objects.handleOf(out.get(i)));
+        }
+    }
+
+    /**
+     * @return objetos ativos no mundo, para iteração sem posições vazias
+     */
+    public Registry<SuperObject> getObjects() {
+        return objects;
+    }
+
+    /**
+     * Avança a simulação em um tick: o jogador, o alvo do campo de fluxo, as
+     * entidades do {@link EntityStore} (movimento, animação e coleta de itens) e
+     * o envio dos pedidos de caminho do tick.
+     */
+    public void update() {
+        player.capturePreviousPosition(); // Base da interpolação do próximo frame
+        player.update();
+
+        // O campo de fluxo acompanha o jogador a cada passo concluído (tile a
+        // tile); só é recalculado quando consultado
+        if (player.isBetweenSteps()) {
+            flowField.setTarget((player.worldX + player.solidArea.x + player.solidArea.width / 2) / Config.TILE_SIZE,
+                    (player.worldY + player.solidArea.y + player.solidArea.height / 2) / Config.TILE_SIZE);
+        }
+
+        movementSystem.update(entities);
+        animationSystem.update(entities);
+        pickupSystem.update(entities);
+        paths.update(); // Envia os pedidos de caminho do tick
+
+        // Mantém carregados os blocos do mapa ao redor da nova posição do jogador
+        tileManager.streamAround(player.worldX / Config.TILE_SIZE, player.worldY / Config.TILE_SIZE);
+        tickCount++;
+    }
+
+    /**
+     * @return entidades simuladas em massa (NPCs, itens no chão)
+     */
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return sistema que anima e desenha as entidades do {@link EntityStore}
+     */
+    public AnimationSystem getAnimationSystem() {
+        return animationSystem;
+    }
+
+    /**
+     * @return serviço de busca de caminhos sobre o mapa
+     */
+    public PathService getPathService() {
+        return paths;
+    }
+
+    /**
+     * @return campo de fluxo em direção ao tile do jogador
+     */
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /**
+     * @return quantidade de ticks simulados até o momento
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Fornece acesso controlado ao gerenciador de tiles.
+     *
+     * @return instância de TileManager
+     */
+    public TileManager getTileManager() {
+        return tileManager;
+    }
+}
@@ -0,0 +1,74 @@
+package main;
+
+import utils.SoundType;
+
+/**
+ * Executa a simulação do jogo sem janela, sem renderização e sem limitação de
+ * ritmo, dirigida por um roteiro de entrada.
+ * Destina-se a testes de estabilidade (soak tests) e medições de vazão da
+ * simulação em servidores de CI sem servidor X.
+ *
+ * Uso: {@code java -Djava.awt.headless=true main.HeadlessGame [ticks] [roteiro]}
+ */
+public class HeadlessGame {
+
+    private static final long DEFAULT_TICKS = 1_000_000;
+    private static final String DEFAULT_SCRIPT = "MOVE_UP:48,MOVE_LEFT:48,MOVE_DOWN:48,MOVE_RIGHT:48,NONE:12";
+
+    /**
+     * Eventos da simulação apenas contabilizados, já que não há som nem tela.
+     */
+    static class CountingEvents implements GameEvents {
+        long soundEffects, messages;
+        boolean finished;
+
+        @Override
+        public void playSE(SoundType type) {
+            soundEffects++;
+        }
+
+        @Override
+        public void stopMusic() {
+            // Sem áudio no modo headless
+        }
+
+        @Override
+        public void showMessage(String text) {
+            messages++;
+        }
+
+        @Override
+        public void finishGame() {
+            finished = true;
+        }
+    }
+
+    /**
+     * @param args [0] quantidade máxima de ticks; [1] roteiro de entrada (ver
+     *             {@link ScriptedInput})
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long maxTicks = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TICKS;
+        ScriptedInput input = new ScriptedInput(args.length > 1 ? args[1] : DEFAULT_SCRIPT);
+        CountingEvents events = new CountingEvents();
+
+        GameWorld world = new GameWorld(events, input);
+        world.setupObjects();
+
+        long start = System.nanoTime();
+        while (world.getTickCount() < maxTicks && !events.finished) {
+            world.update();
+            input.advance(); // Depois do tick, para que o primeiro trecho dure todos os seus ticks
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("Ticks: %d em %.3f s (%.0f ticks/s)%n",
+                world.getTickCount(), seconds, world.getTickCount() / seconds);
+        System.out.printf("Jogador em (%d, %d), chaves: %d, efeitos: %d, mensagens: %d, concluído: %b%n",
+                world.player.worldX, world.player.worldY, world.player.getHasKey(),
+                events.soundEffects, events.messages, events.finished);
+    }
+}
@@ -0,0 +1,121 @@
+package main;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.IntConsumer;
+
+/**
+ * Fila circular de eventos de entrada com um único produtor (a EDT, que recebe
+ * os eventos do teclado) e um único consumidor (a thread do jogo), sem travas.
+ *
+ * Cada evento é um inteiro (o significado fica a cargo de quem produz) e o
+ * instante em que ocorreu, na escala de System.nanoTime(). O produtor escreve
+ * o evento e só então publica a nova cauda com semântica de liberação; o
+ * consumidor lê a cauda com semântica de aquisição antes de ler os eventos, e
+ * libera os espaços publicando a nova cabeça da mesma forma. Cada índice é
+ * escrito por uma única thread, então nenhuma operação atômica de
+ * leitura-modificação-escrita é necessária.
+ *
+ * Com a fila cheia, o evento novo é descartado e contado em
+ * {@link #getDroppedCount()}; a capacidade deve folgar sobre os eventos de um
+ * tick.
+ */
+final class InputEventQueue {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(InputEventQueue.class, "head", long.class);
+            TAIL = lookup.findVarHandle(InputEventQueue.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int mask; // Capacidade - 1 (a capacidade é potência de 2)
+    private final int[] events;
+    private final long[] times;
+
+    // Sequências, sempre crescentes: próximo evento a consumir e próximo espaço livre
+    @SuppressWarnings("unused") // Acessada via HEAD
+    private long head;
+    @SuppressWarnings("unused") // Acessada via TAIL
+    private long tail;
+
+    private long cachedHead; // Última cabeça vista pelo produtor, evita reler a cada evento
+    private volatile int dropped;
+
+    /**
+     * @param capacity Eventos que cabem na fila (arredondada para a próxima
+     *                 potência de 2)
+     */
+    InputEventQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade da fila de entrada inválida: " + capacity);
+        }
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.mask = size - 1;
+        this.events = new int[size];
+        this.times = new long[size];
+    }
+
+    /**
+     * Enfileira um evento. Deve ser chamado apenas pela thread produtora.
+     *
+     * @param event evento a enfileirar
+     * @param time  instante do evento, na escala de System.nanoTime()
+     * @return false se a fila estava cheia e o evento foi descartado
+     */
+    boolean offer(int event, long time) {
+        long t = (long) TAIL.getOpaque(this);
+        if (t - cachedHead > mask) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (t - cachedHead > mask) {
+                dropped++; // Só o produtor escreve
+                return false;
+            }
+        }
+        int index = (int) t & mask;
+        events[index] = event;
+        times[index] = time;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    /**
+     * Consome, em ordem, os eventos ocorridos até o instante informado; os
+     * posteriores continuam na fila. Deve ser chamado apenas pela thread
+     * consumidora.
+     *
+     * @param deadline instante limite, na escala de System.nanoTime()
+     * @param sink     recebe cada evento consumido
+     * @return quantidade de eventos consumidos
+     */
+    int drain(long deadline, IntConsumer sink) {
+        long h = (long) HEAD.getOpaque(this);
+        long t = (long) TAIL.getAcquire(this);
+        long start = h;
+        while (h != t) {
+            int index = (int) h & mask;
+            if (times[index] - deadline > 0) {
+                break;
+            }
+            sink.accept(events[index]);
+            h++;
+        }
+        if (h != start) {
+            HEAD.setRelease(this, h);
+        }
+        return (int) (h - start);
+    }
+
+    /**
+     * @return eventos descartados por falta de espaço desde a criação
+     */
+    int getDroppedCount() {
+        return dropped;
+    }
+}
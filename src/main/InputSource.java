@@ -0,0 +1,15 @@
+package main;
+
+/**
+ * Fonte de comandos do jogador consultada pela simulação a cada tick.
+ * Implementada pelo {@link KeyHandler} (teclado real) e pelo
+ * {@link ScriptedInput} (roteiro usado no modo headless).
+ */
+public interface InputSource {
+
+    /**
+     * @param action Ação do jogo a ser consultada
+     * @return true se a ação está ativa neste tick
+     */
+    boolean isActive(GameAction action);
+}
@@ -2,19 +2,96 @@ package main;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.function.IntConsumer;
 
 /**
  * Classe responsável por lidar com eventos de teclado durante o jogo.
  * Utiliza o mapeamento de teclas definido na classe Config (via
  * config.properties).
- * Atualiza o estado das ações (como movimentação) de acordo com as teclas
- * pressionadas/liberadas.
+ *
+ * Os eventos chegam pela EDT e apenas são traduzidos em ações e enfileirados
+ * com seu instante em uma {@link InputEventQueue}. A thread do jogo os
+ * consome uma vez por tick ({@link #poll(long)}) e mantém sozinha o estado das
+ * ações, então nenhuma variável é compartilhada entre as duas threads.
+ *
+ * Um pressionamento (a transição de liberada para pressionada) fica
+ * registrado até ser consultado por {@link #isActive(GameAction)}, mesmo que
+ * a tecla já tenha sido liberada: toques mais curtos que um tick, ou feitos
+ * enquanto o jogador ainda termina um passo, não se perdem.
  */
-public class KeyHandler implements KeyListener {
+public class KeyHandler implements KeyListener, InputSource {
 
-    // Estados booleanos representando quais ações estão ativas
-    public boolean upPressed, downPressed, leftPressed, rightPressed;
+    private static final int PRESSED = 1 << 31; // Marca de pressionamento no evento; o resto são as ações
+    private static final int EMPTY = -1; // Posição livre na tabela de teclas
+
+    // Tabela de dispersão aberta: código da tecla -> máscara de bits das ações (por ordinal)
+    private final int[] keyCodes;
+    private final int[] keyActions;
+    private final int keyMask;
+
+    private final InputEventQueue events = new InputEventQueue(Config.INPUT_QUEUE_CAPACITY);
+    private final IntConsumer applyEvent = this::apply;
+
+    // Estado das ações, acessado apenas pela thread do jogo
+    private int held; // Teclas pressionadas no momento
+    private int latched; // Pressionamentos ainda não consultados
+
+    public KeyHandler() {
+        this(Config.KEY_BINDINGS);
+    }
+
+    /**
+     * @param bindings Tecla associada a cada ação
+     */
+    public KeyHandler(Map<GameAction, Integer> bindings) {
+        int size = Integer.highestOneBit(Math.max(1, bindings.size())) << 2; // Ocupação máxima de 1/2
+        keyCodes = new int[size];
+        keyActions = new int[size];
+        keyMask = size - 1;
+        Arrays.fill(keyCodes, EMPTY);
+
+        for (Map.Entry<GameAction, Integer> binding : bindings.entrySet()) {
+            int code = binding.getValue();
+            int slot = slotOf(code);
+            keyCodes[slot] = code;
+            keyActions[slot] |= 1 << binding.getKey().ordinal();
+        }
+    }
+
+    /**
+     * Aplica os eventos de teclado ocorridos até o instante informado. Chamado
+     * pela thread do jogo uma vez por tick, antes da atualização do mundo.
+     *
+     * @param deadline fim do tick, na escala de System.nanoTime(); eventos
+     *                 posteriores ficam para o tick seguinte
+     */
+    public void poll(long deadline) {
+        events.drain(deadline, applyEvent);
+    }
+
+    /**
+     * Informa se a ação está ativa e dá o pressionamento por consultado.
+     *
+     * @param action Ação do jogo a ser consultada
+     * @return true se a tecla associada estiver pressionada ou tiver sido
+     *         pressionada desde a última consulta
+     */
+    @Override
+    public boolean isActive(GameAction action) {
+        int bit = 1 << action.ordinal();
+        boolean active = ((held | latched) & bit) != 0;
+        latched &= ~bit;
+        return active;
+    }
+
+    /**
+     * @return eventos de teclado perdidos por falta de espaço na fila
+     */
+    public int getDroppedEventCount() {
+        return events.getDroppedCount();
+    }
 
     /**
      * Chamado quando uma tecla é digitada (pressionada e liberada rapidamente).
@@ -27,45 +104,63 @@ public class KeyHandler implements KeyListener {
 
     /**
      * Chamado quando uma tecla é pressionada.
-     * Atualiza o estado das ações com base no código da tecla e no mapeamento de
-     * GameAction -> KeyCode.
+     * Enfileira o pressionamento das ações associadas à tecla.
      *
      * @param e Evento de tecla pressionada.
      */
     @Override
     public void keyPressed(KeyEvent e) {
-        int code = e.getKeyCode();
-        Map<GameAction, Integer> keys = Config.KEY_BINDINGS;
-
-        if (code == keys.get(GameAction.MOVE_UP))
-            upPressed = true;
-        if (code == keys.get(GameAction.MOVE_DOWN))
-            downPressed = true;
-        if (code == keys.get(GameAction.MOVE_LEFT))
-            leftPressed = true;
-        if (code == keys.get(GameAction.MOVE_RIGHT))
-            rightPressed = true;
+        int actions = actionsOf(e.getKeyCode());
+        if (actions != 0) {
+            events.offer(actions | PRESSED, System.nanoTime());
+        }
     }
 
     /**
      * Chamado quando uma tecla é liberada.
-     * Atualiza o estado das ações para falso, interrompendo o comportamento
-     * correspondente.
+     * Enfileira a liberação das ações associadas à tecla.
      *
      * @param e Evento de tecla liberada.
      */
     @Override
     public void keyReleased(KeyEvent e) {
-        int code = e.getKeyCode();
-        Map<GameAction, Integer> keys = Config.KEY_BINDINGS;
-
-        if (code == keys.get(GameAction.MOVE_UP))
-            upPressed = false;
-        if (code == keys.get(GameAction.MOVE_DOWN))
-            downPressed = false;
-        if (code == keys.get(GameAction.MOVE_LEFT))
-            leftPressed = false;
-        if (code == keys.get(GameAction.MOVE_RIGHT))
-            rightPressed = false;
+        int actions = actionsOf(e.getKeyCode());
+        if (actions != 0) {
+            events.offer(actions, System.nanoTime());
+        }
+    }
+
+    /**
+     * Aplica um evento ao estado das ações (thread do jogo).
+     */
+    private void apply(int event) {
+        int actions = event & ~PRESSED;
+        if ((event & PRESSED) != 0) {
+            // Só um pressionamento real fica registrado: as repetições automáticas
+            // do sistema, com a tecla já pressionada, não geram um passo extra
+            latched |= actions & ~held;
+            held |= actions;
+        } else {
+            held &= ~actions;
+        }
+    }
+
+    /**
+     * @return máscara das ações associadas à tecla, ou 0 se nenhuma
+     */
+    private int actionsOf(int code) {
+        int slot = slotOf(code);
+        return keyCodes[slot] == code ? keyActions[slot] : 0;
+    }
+
+    /**
+     * @return posição da tecla na tabela, ou a posição livre onde ela entraria
+     */
+    private int slotOf(int code) {
+        int slot = (code * 0x9E3779B9) >>> 16 & keyMask;
+        while (keyCodes[slot] != code && keyCodes[slot] != EMPTY) {
+            slot = (slot + 1) & keyMask;
+        }
+        return slot;
     }
 }
@@ -0,0 +1,12 @@
+package main;
+
+/**
+ * Estratégias do loop principal do jogo.
+ * Selecionada pela propriedade `loop.mode` do `config.properties`.
+ */
+public enum LoopMode {
+    /** Uma atualização por frame, aguardando em espera ativa (comportamento original) */
+    LEGACY,
+    /** Passo fixo de simulação desacoplado da renderização, com interpolação */
+    FIXED
+}
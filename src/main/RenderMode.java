@@ -0,0 +1,12 @@
+package main;
+
+/**
+ * Modos de apresentação dos frames na tela.
+ * Selecionado pela propriedade `render.mode` do `config.properties`.
+ */
+public enum RenderMode {
+    /** Renderização passiva: o loop chama repaint() e o Swing desenha na EDT */
+    PASSIVE,
+    /** Renderização ativa: a thread do jogo desenha e apresenta via BufferStrategy */
+    ACTIVE
+}
@@ -0,0 +1,66 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fonte de comandos roteirizada, usada no lugar do {@link KeyHandler} quando o
+ * jogo roda sem display.
+ *
+ * O roteiro é uma lista de trechos no formato {@code ACAO:ticks} separados por
+ * vírgula, por exemplo {@code "MOVE_UP:48,NONE:10,MOVE_LEFT:96"}. Cada trecho
+ * mantém a ação ativa pela quantidade de ticks indicada ({@code NONE} deixa o
+ * jogador parado). Ao final, o roteiro recomeça do início.
+ */
+public class ScriptedInput implements InputSource {
+
+    private final List<GameAction> actions = new ArrayList<>(); // null representa NONE
+    private final List<Integer> durations = new ArrayList<>();
+
+    private int step = 0; // Trecho atual do roteiro
+    private int remaining; // Ticks restantes no trecho atual
+
+    /**
+     * @param script Roteiro no formato {@code ACAO:ticks,ACAO:ticks,...}
+     * @throws IllegalArgumentException se o roteiro for vazio ou malformado
+     */
+    public ScriptedInput(String script) {
+        for (String part : script.split(",")) {
+            String[] tokens = part.trim().split(":");
+            if (tokens.length != 2) {
+                throw new IllegalArgumentException("Trecho de roteiro inválido: " + part);
+            }
+
+            String name = tokens[0].trim().toUpperCase();
+            actions.add(name.equals("NONE") ? null : GameAction.valueOf(name));
+
+            int ticks = Integer.parseInt(tokens[1].trim());
+            if (ticks <= 0) {
+                throw new IllegalArgumentException("Duração deve ser positiva: " + part);
+            }
+            durations.add(ticks);
+        }
+
+        if (actions.isEmpty()) {
+            throw new IllegalArgumentException("Roteiro de entrada vazio.");
+        }
+        remaining = durations.get(0);
+    }
+
+    /**
+     * Avança o roteiro em um tick. Deve ser chamado uma vez depois de cada
+     * atualização da simulação, para que cada trecho (inclusive o primeiro)
+     * fique ativo pela sua duração completa.
+     */
+    public void advance() {
+        if (--remaining <= 0) {
+            step = (step + 1) % actions.size();
+            remaining = durations.get(step);
+        }
+    }
+
+    @Override
+    public boolean isActive(GameAction action) {
+        return actions.get(step) == action;
+    }
+}
@@ -1,86 +1,281 @@
 package main;
 
-import java.net.URL;
-import java.util.HashMap;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
+import javax.sound.sampled.SourceDataLine;
 
 import utils.SoundType;
 
 /**
- * Classe responsável pela reprodução de sons do jogo.
- * Sons são carregados via enum {@link SoundType} com base em caminhos definidos
- * no `config.properties`.
+ * Motor de som do jogo, com mixagem em software.
+ *
+ * Todos os sons configurados no `config.properties` (ver {@link SoundType}) são
+ * decodificados uma única vez, na criação, para PCM no formato de saída. Uma
+ * thread de áudio dedicada soma as vozes ativas em blocos curtos e os escreve
+ * em uma única linha de saída, de forma que vários efeitos tocam ao mesmo tempo
+ * sem abrir arquivos nem linhas durante o jogo. A soma passa por um ganho
+ * geral e por um limitador suave, para que efeitos sobrepostos à música não
+ * distorçam.
+ *
+ * Os pedidos ({@link #playEffect}, {@link #playMusic}, {@link #stopMusic})
+ * apenas entram em uma fila sem bloqueio e retornam imediatamente; a thread de
+ * áudio os aplica no início do próximo bloco. Sem dispositivo de áudio (ex:
+ * servidores sem placa de som), o motor fica mudo e os pedidos são descartados.
  */
 public class Sound {
 
-    /** Mapa que associa cada tipo de som ao seu respectivo URL carregado. */
-    private final Map<SoundType, URL> soundMap = new HashMap<>();
+    private static final AudioFormat FORMAT = new AudioFormat(48000f, 16, 2, true, false);
+    private static final int CHANNELS = 2;
+    private static final int BLOCK_FRAMES = 256; // Quadros por bloco mixado (~5 ms)
+    private static final int LINE_BLOCKS = 4; // Blocos no buffer da linha de saída
 
-    /** Instância de áudio atualmente carregada. */
-    private Clip clip;
+    // Saída: ganho geral, que dá folga à soma das vozes, e limitador suave acima
+    // do joelho (fração do fundo de escala), no lugar de um corte seco em 16 bits
+    private static final float MASTER_GAIN = 0.6f;
+    private static final float LIMITER_KNEE = 0.75f;
+
+    // Pedidos à thread de áudio: operação nos bits altos, tipo de som nos baixos
+    private static final int OP_EFFECT = 1 << 8;
+    private static final int OP_MUSIC = 2 << 8;
+    private static final int OP_STOP_MUSIC = 3 << 8;
+
+    private static final SoundType[] TYPES = SoundType.values();
+
+    /** Amostras PCM intercaladas de cada som carregado. */
+    private final Map<SoundType, short[]> samples = new EnumMap<>(SoundType.class);
+
+    private final ConcurrentLinkedQueue<Integer> commands = new ConcurrentLinkedQueue<>();
+
+    // Vozes, acessadas apenas pela thread de áudio; a voz 0 é reservada à música
+    private final short[][] voiceSamples;
+    private final int[] voicePosition;
+    private final boolean[] voiceLoop;
+
+    private final SourceDataLine line; // null = sem áudio
 
     /**
-     * Construtor que inicializa os caminhos de som a partir da configuração
-     * externa.
+     * Abre a saída de áudio e, se houver um dispositivo disponível, decodifica
+     * os sons configurados e inicia a thread de áudio.
      */
     public Sound() {
-        for (SoundType type : SoundType.values()) {
-            String path = Config.getProperty(type.getConfigKey());
-            if (path != null) {
-                URL soundUrl = getClass().getResource(path);
-                if (soundUrl != null) {
-                    soundMap.put(type, soundUrl);
-                } else {
-                    System.err.println("Som não encontrado no path: " + path);
+        int voices = Config.SOUND_VOICES + 1;
+        this.voiceSamples = new short[voices][];
+        this.voicePosition = new int[voices];
+        this.voiceLoop = new boolean[voices];
+
+        this.line = openLine();
+        if (line != null) {
+            for (SoundType type : TYPES) {
+                String path = Config.getProperty(type.getConfigKey());
+                if (path == null) {
+                    System.err.println("Chave de som não configurada: " + type.getConfigKey());
+                    continue;
+                }
+                short[] pcm = decode(path.trim());
+                if (pcm != null) {
+                    samples.put(type, pcm);
                 }
-            } else {
-                System.err.println("Chave de som não configurada: " + type.getConfigKey());
             }
+
+            Thread thread = new Thread(this::mixLoop, "audio-mixer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            thread.start();
         }
     }
 
     /**
-     * Carrega um som a partir do enum {@link SoundType}.
+     * Toca um efeito sonoro uma vez, junto com os demais sons em reprodução.
+     * Se todas as vozes estiverem ocupadas, a mais próxima do fim é substituída.
      *
-     * @param type Tipo de som a ser carregado.
+     * @param type Tipo de efeito sonoro
      */
-    public void setFile(SoundType type) {
-        try {
-            URL url = soundMap.get(type);
-            if (url == null) {
-                System.err.println("Som não carregado para o tipo: " + type);
-                return;
+    public void playEffect(SoundType type) {
+        request(OP_EFFECT, type);
+    }
+
+    /**
+     * Toca uma música em loop contínuo, substituindo a atual.
+     *
+     * @param type Tipo de música
+     */
+    public void playMusic(SoundType type) {
+        request(OP_MUSIC, type);
+    }
+
+    /** Para a música atual. Efeitos em reprodução continuam. */
+    public void stopMusic() {
+        if (line != null) {
+            commands.offer(OP_STOP_MUSIC);
+        }
+    }
+
+    private void request(int op, SoundType type) {
+        if (line == null) {
+            return;
+        }
+        if (!samples.containsKey(type)) {
+            System.err.println("Som não carregado para o tipo: " + type);
+            return;
+        }
+        commands.offer(op | type.ordinal());
+    }
+
+    /**
+     * Laço da thread de áudio. A escrita na linha bloqueia enquanto o buffer
+     * estiver cheio, o que dita o ritmo da mixagem.
+     */
+    private void mixLoop() {
+        int[] mix = new int[BLOCK_FRAMES * CHANNELS];
+        byte[] out = new byte[mix.length * 2];
+        ByteBuffer outBuffer = ByteBuffer.wrap(out).order(ByteOrder.LITTLE_ENDIAN);
+
+        while (true) {
+            applyCommands();
+
+            Arrays.fill(mix, 0);
+            for (int v = 0; v < voiceSamples.length; v++) {
+                if (voiceSamples[v] != null) {
+                    mixVoice(v, mix);
+                }
             }
 
-            AudioInputStream ais = AudioSystem.getAudioInputStream(url);
-            clip = AudioSystem.getClip();
-            clip.open(ais);
+            outBuffer.clear();
+            for (int sample : mix) {
+                outBuffer.putShort(limit(sample));
+            }
+            line.write(out, 0, out.length);
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("Erro ao carregar som [" + type + "]: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Aplica o ganho geral a uma amostra da soma e comprime suavemente (tanh) o
+     * que passar do joelho, de forma que o resultado se aproxima do fundo de
+     * escala sem corte seco.
+     */
+    private static short limit(int sample) {
+        float x = sample * MASTER_GAIN / -Short.MIN_VALUE;
+        float magnitude = Math.abs(x);
+        if (magnitude > LIMITER_KNEE) {
+            float range = 1f - LIMITER_KNEE;
+            magnitude = LIMITER_KNEE + range * (float) Math.tanh((magnitude - LIMITER_KNEE) / range);
+            x = Math.copySign(magnitude, x);
         }
+        return (short) Math.round(x * Short.MAX_VALUE);
     }
 
-    /** Inicia a reprodução do som atual. */
-    public void play() {
-        if (clip != null)
-            clip.start();
+    private void applyCommands() {
+        Integer command;
+        while ((command = commands.poll()) != null) {
+            int op = command & ~0xFF;
+            short[] pcm = op == OP_STOP_MUSIC ? null : samples.get(TYPES[command & 0xFF]);
+
+            if (op == OP_MUSIC || op == OP_STOP_MUSIC) {
+                startVoice(0, pcm, true);
+            } else {
+                startVoice(freeEffectVoice(), pcm, false);
+            }
+        }
+    }
+
+    /**
+     * @return voz de efeito livre, ou a que está mais próxima do fim
+     */
+    private int freeEffectVoice() {
+        int best = 1;
+        int bestRemaining = Integer.MAX_VALUE;
+        for (int v = 1; v < voiceSamples.length; v++) {
+            if (voiceSamples[v] == null) {
+                return v;
+            }
+            int remaining = voiceSamples[v].length - voicePosition[v];
+            if (remaining < bestRemaining) {
+                bestRemaining = remaining;
+                best = v;
+            }
+        }
+        return best;
     }
 
-    /** Reproduz o som atual em loop contínuo. */
-    public void loop() {
-        if (clip != null)
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
+    private void startVoice(int voice, short[] pcm, boolean loop) {
+        voiceSamples[voice] = pcm;
+        voicePosition[voice] = 0;
+        voiceLoop[voice] = loop;
     }
 
-    /** Para a reprodução do som atual. */
-    public void stop() {
-        if (clip != null)
-            clip.stop();
+    /**
+     * Soma ao bloco o próximo trecho da voz, liberando-a (ou voltando ao início,
+     * se em loop) ao chegar ao fim.
+     */
+    private void mixVoice(int voice, int[] mix) {
+        short[] pcm = voiceSamples[voice];
+        int position = voicePosition[voice];
+        int i = 0;
+        while (i < mix.length) {
+            int count = Math.min(mix.length - i, pcm.length - position);
+            for (int k = 0; k < count; k++) {
+                mix[i + k] += pcm[position + k];
+            }
+            i += count;
+            position += count;
+
+            if (position == pcm.length) {
+                if (!voiceLoop[voice]) {
+                    voiceSamples[voice] = null;
+                    return;
+                }
+                position = 0;
+            }
+        }
+        voicePosition[voice] = position;
+    }
+
+    /**
+     * Lê um som do classpath e o converte para o formato de saída.
+     *
+     * @return amostras intercaladas, ou null se o som não puder ser carregado
+     */
+    private short[] decode(String path) {
+        InputStream is = getClass().getResourceAsStream(path);
+        if (is == null) {
+            System.err.println("Som não encontrado no path: " + path);
+            return null;
+        }
+
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new BufferedInputStream(is));
+                AudioInputStream pcm = AudioSystem.getAudioInputStream(FORMAT, source)) {
+            byte[] bytes = pcm.readAllBytes();
+            short[] samples = new short[bytes.length / 2 / CHANNELS * CHANNELS];
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples);
+            return samples.length == 0 ? null : samples;
+        } catch (Exception e) {
+            System.err.println("Erro ao carregar som [" + path + "]: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return linha de saída aberta e iniciada, ou null se não houver áudio
+     */
+    private static SourceDataLine openLine() {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, BLOCK_FRAMES * FORMAT.getFrameSize() * LINE_BLOCKS);
+            line.start();
+            return line;
+        } catch (Exception e) {
+            System.err.println("Áudio indisponível, o jogo seguirá sem som: " + e.getMessage());
+            return null;
+        }
     }
 }
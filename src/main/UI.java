@@ -3,10 +3,14 @@ package main;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
 import java.text.DecimalFormat;
 
 import objects.OBJ_Key;
+import utils.AtlasRegion;
+import utils.FramePhase;
+import utils.FrameProfiler;
+import utils.LatencyHistogram;
+import utils.ObjectImageUtils;
 
 /**
  * Classe responsável por exibir informações visuais ao jogador, como HUD,
@@ -19,8 +23,12 @@ public class UI {
     // Fonte padrão para textos na HUD
     Font arial_40, arial_80B;
 
+    // Fonte e fundo do overlay de métricas de frame
+    Font monospaced_14 = new Font(Font.MONOSPACED, Font.PLAIN, 14);
+    Color overlayBackground = new Color(0, 0, 0, 170);
+
     // Ícone representando a chave coletada
-    BufferedImage keyImage;
+    AtlasRegion keyImage;
 
     // Controle de exibição de mensagens temporárias na tela
     public boolean messageOn = false;
@@ -41,9 +49,8 @@ public class UI {
         arial_40 = new Font("Arial", Font.PLAIN, 40);
         arial_80B = new Font("Arial", Font.BOLD, 80);
 
-        // Carrega imagem da chave a partir do objeto correspondente
-        OBJ_Key key = new OBJ_Key();
-        keyImage = key.image;
+        // Ícone da chave: a mesma região do atlas usada pelos objetos do mapa
+        keyImage = ObjectImageUtils.loadRegion(OBJ_Key.IMAGE_PATH);
     }
 
     /**
@@ -56,6 +63,28 @@ public class UI {
         messageOn = true;
     }
 
+    /**
+     * Avança os contadores de tempo da interface (tempo de jogo e duração das
+     * mensagens). Chamado a cada tick da simulação, e não a cada frame, para que
+     * o tempo exibido não dependa da taxa de desenho.
+     */
+    public void update() {
+        if (gameFinished) {
+            return;
+        }
+
+        playTime += 1.0 / gp.getTickRate();
+
+        if (messageOn) {
+            messageCounter++;
+
+            if (messageCounter > Config.UI_MESSAGE_DISPLAY_FRAMES) {
+                messageCounter = 0;
+                messageOn = false;
+            }
+        }
+    }
+
     /**
      * Renderiza os elementos da interface de usuário com base no estado do jogo.
      *
@@ -99,26 +128,52 @@ public class UI {
             g2.setFont(arial_40);
             g2.setColor(Color.WHITE);
 
-            g2.drawImage(keyImage, Config.TILE_SIZE / 2, Config.TILE_SIZE / 2, Config.TILE_SIZE, Config.TILE_SIZE,
-                    null);
-            g2.drawString("x " + gp.player.getHasKey(), 74, 65);
+            keyImage.draw(g2, Config.TILE_SIZE / 2, Config.TILE_SIZE / 2);
+            g2.drawString("x " + gp.world.player.getHasKey(), 74, 65);
 
-            // Atualização do tempo de jogo
-            playTime += (double) 1 / Config.FPS;
             g2.drawString("Tempo:" + dFormat.format(playTime), Config.TILE_SIZE * 11, 65);
 
             // Exibição de mensagens temporárias
             if (messageOn) {
                 g2.setFont(g2.getFont().deriveFont(30F));
                 g2.drawString(message, Config.TILE_SIZE / 2, Config.TILE_SIZE * 5);
-
-                messageCounter++;
-
-                if (messageCounter > Config.UI_MESSAGE_DISPLAY_FRAMES) {
-                    messageCounter = 0;
-                    messageOn = false;
-                }
             }
         }
     }
+
+    /**
+     * Desenha, no canto inferior esquerdo, as métricas do último intervalo de
+     * medição: FPS, p50/p99/máximo de cada fase e a correlação com pausas de GC.
+     *
+     * @param g2      Contexto gráfico 2D para renderização
+     * @param summary Resumo do último intervalo do {@link FrameProfiler}
+     */
+    public void drawProfilerOverlay(Graphics2D g2, FrameProfiler.Summary summary) {
+        FramePhase[] phases = FramePhase.values();
+        int lineHeight = 16;
+        int height = (phases.length + 3) * lineHeight;
+        int x = 8;
+        int y = Config.SCREEN_HEIGHT - height - 8;
+
+        g2.setColor(overlayBackground);
+        g2.fillRect(x - 4, y - 4, 340, height + 8);
+        g2.setFont(monospaced_14);
+        g2.setColor(Color.WHITE);
+
+        y += lineHeight - 4;
+        g2.drawString(String.format("FPS %.1f  frames %d", summary.fps(), summary.frames()), x, y);
+        y += lineHeight;
+        g2.drawString(String.format("%-8s %7s %7s %7s", "fase ms", "p50", "p99", "max"), x, y);
+
+        for (FramePhase phase : phases) {
+            LatencyHistogram h = summary.phases().get(phase);
+            y += lineHeight;
+            g2.drawString(String.format("%-8s %7.2f %7.2f %7.2f", phase.name().toLowerCase(),
+                    h.getPercentile(50) / 1e6, h.getPercentile(99) / 1e6, h.getMax() / 1e6), x, y);
+        }
+
+        y += lineHeight;
+        g2.drawString(String.format("lentos %d (GC %d)  GC %dms", summary.slowFrames(),
+                summary.slowFramesWithGc(), summary.gcPauseMillis()), x, y);
+    }
 }
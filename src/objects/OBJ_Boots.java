@@ -8,12 +8,14 @@ import utils.ObjectImageUtils;
  */
 public class OBJ_Boots extends SuperObject {
 
+    public static final String IMAGE_PATH = "/res/objects/boots.png";
+
     /**
      * Construtor que define o nome e carrega a imagem associada ao objeto.
      * A imagem é carregada do caminho configurado nos recursos.
      */
     public OBJ_Boots() {
         name = "Boots";
-        image = ObjectImageUtils.loadImage("/res/objects/boots.png");
+        image = ObjectImageUtils.loadRegion(IMAGE_PATH);
     }
 }
@@ -3,9 +3,12 @@ package objects;
 import utils.ObjectImageUtils;
 
 public class OBJ_Chest extends SuperObject {
+
+    public static final String IMAGE_PATH = "/res/objects/chest.png";
+
     public OBJ_Chest() {
         name = "Chest";
-        image = ObjectImageUtils.loadImage("/res/objects/chest.png");
+        image = ObjectImageUtils.loadRegion(IMAGE_PATH);
         collision = true;
     }
 }
@@ -4,9 +4,11 @@ import utils.ObjectImageUtils;
 
 public class OBJ_Door extends SuperObject {
 
+    public static final String IMAGE_PATH = "/res/objects/door.png";
+
     public OBJ_Door() {
         name = "Door";
-        image = ObjectImageUtils.loadImage("/res/objects/door.png");
+        image = ObjectImageUtils.loadRegion(IMAGE_PATH);
         collision = true;
     }
 }
@@ -4,8 +4,10 @@ import utils.ObjectImageUtils;
 
 public class OBJ_Key extends SuperObject {
 
+    public static final String IMAGE_PATH = "/res/objects/key.png";
+
     public OBJ_Key() {
         name = "Key";
-        image = ObjectImageUtils.loadImage("/res/objects/key.png");
+        image = ObjectImageUtils.loadRegion(IMAGE_PATH);
     }
 }
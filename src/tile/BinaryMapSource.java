@@ -0,0 +1,226 @@
+package tile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Mapa no formato binário compacto (.azm), lido diretamente de um arquivo
+ * mapeado em memória: nenhum tile é convertido até que seu bloco seja pedido,
+ * e a leitura não aloca strings.
+ *
+ * Layout do arquivo (big-endian):
+ * <pre>
+ * int    magic          "AZMP"
+ * short  version        1
+ * byte   bytesPerTile   1 (uint8) ou 2 (uint16)
+ * byte   flags          bit 0 = blocos comprimidos com RLE
+ * int    cols, rows     dimensões do mundo em tiles
+ * int    chunkSize      lado dos blocos gravados, em tiles
+ * int[2] por bloco      deslocamento e tamanho (em bytes) dos dados do bloco,
+ *                       blocos em ordem de linha
+ * dados dos blocos      chunkSize * chunkSize tiles, linha a linha (blocos da
+ *                       borda completados com 0); com RLE, pares
+ *                       (uint16 repetições, tile)
+ * </pre>
+ * Gerado a partir do formato texto pelo {@link MapConverter}.
+ */
+public class BinaryMapSource implements ChunkSource {
+
+    static final int MAGIC = 0x415A4D50; // "AZMP"
+    static final short VERSION = 1;
+    static final int FLAG_RLE = 1;
+    static final int HEADER_SIZE = 20;
+    static final int TABLE_ENTRY_SIZE = 8;
+
+    private final ByteBuffer data; // Arquivo inteiro; apenas leituras absolutas (seguras entre threads)
+
+    private final int worldCols;
+    private final int worldRows;
+    private final int fileChunkSize; // Lado dos blocos gravados no arquivo
+    private final int fileChunkCols; // Quantidade de blocos gravados na horizontal
+    private final int bytesPerTile;
+    private final boolean rle;
+
+    /**
+     * Mapeia o arquivo informado em memória.
+     *
+     * @param file Arquivo .azm no sistema de arquivos
+     * @throws IOException se o arquivo não puder ser lido ou não for um mapa
+     *                     válido
+     */
+    public BinaryMapSource(Path file) throws IOException {
+        this(map(file), file.toString());
+    }
+
+    /**
+     * @param data Conteúdo completo do mapa
+     * @param name Nome do mapa, usado nas mensagens de erro
+     * @throws IOException se o conteúdo não for um mapa válido
+     */
+    public BinaryMapSource(ByteBuffer data, String name) throws IOException {
+        this.data = data;
+
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Arquivo não é um mapa binário: " + name);
+        }
+        if (data.getShort(4) != VERSION) {
+            throw new IOException("Versão de mapa binário não suportada (" + data.getShort(4) + "): " + name);
+        }
+
+        this.bytesPerTile = data.get(6);
+        this.rle = (data.get(7) & FLAG_RLE) != 0;
+        this.worldCols = data.getInt(8);
+        this.worldRows = data.getInt(12);
+        this.fileChunkSize = data.getInt(16);
+
+        if ((bytesPerTile != 1 && bytesPerTile != 2) || worldCols <= 0 || worldRows <= 0 || fileChunkSize <= 0) {
+            throw new IOException("Cabeçalho de mapa binário inválido: " + name);
+        }
+
+        this.fileChunkCols = (worldCols + fileChunkSize - 1) / fileChunkSize;
+        int fileChunkRows = (worldRows + fileChunkSize - 1) / fileChunkSize;
+        if (data.capacity() < HEADER_SIZE + (long) fileChunkCols * fileChunkRows * TABLE_ENTRY_SIZE) {
+            throw new IOException("Tabela de blocos incompleta no mapa binário: " + name);
+        }
+    }
+
+    /**
+     * Abre um mapa binário a partir de um caminho do sistema de arquivos ou, se
+     * não existir, do classpath. Recursos empacotados em um jar não podem ser
+     * mapeados em memória e são lidos por completo.
+     *
+     * @param filePath Caminho do arquivo (ex: "/res/maps/world01.azm")
+     * @return origem dos blocos do mapa
+     * @throws IOException se o mapa não for encontrado ou for inválido
+     */
+    public static BinaryMapSource open(String filePath) throws IOException {
+        Path file = Path.of(filePath);
+        if (Files.isRegularFile(file)) {
+            return new BinaryMapSource(file);
+        }
+
+        URL url = BinaryMapSource.class.getResource(filePath);
+        if (url == null) {
+            throw new IOException("Arquivo de mapa não encontrado: " + filePath);
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new BinaryMapSource(Path.of(url.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Caminho de mapa inválido: " + url, e);
+            }
+        }
+
+        try (InputStream is = url.openStream()) {
+            return new BinaryMapSource(ByteBuffer.wrap(is.readAllBytes()), filePath);
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // O mapeamento continua válido após o fechamento do canal
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public int getWorldCols() {
+        return worldCols;
+    }
+
+    @Override
+    public int getWorldRows() {
+        return worldRows;
+    }
+
+    @Override
+    public void readChunk(int chunkCol, int chunkRow, int chunkSize, int[] dest) throws IOException {
+        // Caso comum: blocos pedidos com o mesmo tamanho dos gravados
+        if (chunkSize == fileChunkSize) {
+            decodeChunk(chunkRow * fileChunkCols + chunkCol, dest);
+            return;
+        }
+
+        // Caso geral: compõe o bloco pedido a partir dos blocos gravados que o interceptam
+        Arrays.fill(dest, 0);
+        int firstCol = chunkCol * chunkSize;
+        int firstRow = chunkRow * chunkSize;
+        int lastCol = Math.min(worldCols, firstCol + chunkSize) - 1;
+        int lastRow = Math.min(worldRows, firstRow + chunkSize) - 1;
+        int[] scratch = new int[fileChunkSize * fileChunkSize];
+
+        for (int fy = firstRow / fileChunkSize; fy <= lastRow / fileChunkSize; fy++) {
+            for (int fx = firstCol / fileChunkSize; fx <= lastCol / fileChunkSize; fx++) {
+                decodeChunk(fy * fileChunkCols + fx, scratch);
+
+                int fromCol = Math.max(firstCol, fx * fileChunkSize);
+                int toCol = Math.min(lastCol, (fx + 1) * fileChunkSize - 1);
+                int fromRow = Math.max(firstRow, fy * fileChunkSize);
+                int toRow = Math.min(lastRow, (fy + 1) * fileChunkSize - 1);
+
+                for (int row = fromRow; row <= toRow; row++) {
+                    int from = (row - fy * fileChunkSize) * fileChunkSize + (fromCol - fx * fileChunkSize);
+                    int to = (row - firstRow) * chunkSize + (fromCol - firstCol);
+                    System.arraycopy(scratch, from, dest, to, toCol - fromCol + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Converte os dados de um bloco gravado para índices de tile.
+     */
+    private void decodeChunk(int fileChunk, int[] dest) throws IOException {
+        int entry = HEADER_SIZE + fileChunk * TABLE_ENTRY_SIZE;
+        int offset = data.getInt(entry);
+        int length = data.getInt(entry + 4);
+        int count = fileChunkSize * fileChunkSize;
+
+        if (offset < 0 || length < 0 || offset > data.capacity() - length) {
+            throw new IOException("Bloco " + fileChunk + " fora dos limites do mapa binário");
+        }
+
+        if (!rle) {
+            if (length != count * bytesPerTile) {
+                throw new IOException("Tamanho inválido do bloco " + fileChunk + " do mapa binário");
+            }
+            if (bytesPerTile == 1) {
+                for (int i = 0; i < count; i++) {
+                    dest[i] = data.get(offset + i) & 0xFF;
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    dest[i] = data.getShort(offset + 2 * i) & 0xFFFF;
+                }
+            }
+            return;
+        }
+
+        // Pares (repetições, tile) até completar o bloco
+        int pos = offset;
+        int end = offset + length;
+        int filled = 0;
+        while (filled < count) {
+            if (pos + 2 + bytesPerTile > end) {
+                throw new IOException("Bloco " + fileChunk + " do mapa binário truncado");
+            }
+            int run = data.getShort(pos) & 0xFFFF;
+            int tile = bytesPerTile == 1 ? data.get(pos + 2) & 0xFF : data.getShort(pos + 2) & 0xFFFF;
+            pos += 2 + bytesPerTile;
+
+            if (run == 0 || filled + run > count) {
+                throw new IOException("Sequência inválida no bloco " + fileChunk + " do mapa binário");
+            }
+            Arrays.fill(dest, filled, filled + run, tile);
+            filled += run;
+        }
+    }
+}
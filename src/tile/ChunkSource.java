@@ -0,0 +1,34 @@
+package tile;
+
+import java.io.IOException;
+
+/**
+ * Origem dos dados de um mapa dividido em blocos (chunks).
+ * O {@link ChunkedWorld} pede os blocos sob demanda, em geral a partir de uma
+ * thread de carregamento em segundo plano, então as implementações devem ser
+ * seguras para leituras concorrentes.
+ */
+public interface ChunkSource {
+
+    /**
+     * @return largura do mundo em tiles
+     */
+    int getWorldCols();
+
+    /**
+     * @return altura do mundo em tiles
+     */
+    int getWorldRows();
+
+    /**
+     * Preenche {@code dest} com os tiles de um bloco, linha a linha.
+     * Posições do bloco que ficam fora do mundo devem receber 0.
+     *
+     * @param chunkCol  coluna do bloco
+     * @param chunkRow  linha do bloco
+     * @param chunkSize lado do bloco em tiles
+     * @param dest      destino com {@code chunkSize * chunkSize} posições
+     * @throws IOException se os dados do bloco não puderem ser lidos
+     */
+    void readChunk(int chunkCol, int chunkRow, int chunkSize, int[] dest) throws IOException;
+}
@@ -0,0 +1,426 @@
+package tile;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Armazenamento do mapa em blocos quadrados de tiles carregados sob demanda.
+ *
+ * Os blocos ao redor do jogador são pedidos com antecedência a uma thread de
+ * carregamento em segundo plano ({@link #streamAround(int, int)}); um bloco
+ * lido antes de ficar pronto é carregado na hora, de forma síncrona. Quando a
+ * quantidade de blocos residentes excede o limite, os menos usados recentemente
+ * são descartados, exceto os que estão dentro do raio de pré-carregamento e os
+ * alterados durante o jogo.
+ *
+ * Leituras ({@link #getTile(int, int)}) podem ocorrer em qualquer thread;
+ * alterações, pré-carregamento e descarte devem ocorrer na thread da simulação.
+ */
+public class ChunkedWorld {
+
+    // Thread única, compartilhada por todos os mundos, que lê os blocos da origem
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "world-streamer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ChunkSource source;
+
+    private final int worldCols; // Largura do mundo em tiles
+    private final int worldRows; // Altura do mundo em tiles
+    private final int chunkSize; // Lado do bloco em tiles (potência de 2)
+    private final int chunkShift; // log2(chunkSize), para localizar o bloco sem divisões
+    private final int chunkMask; // chunkSize - 1, para a posição dentro do bloco
+    private final int wordsPerRow; // Palavras de 64 bits por linha do mapa de colisão de um bloco
+
+    private final TileRegistry tileTypes; // Tipos de tile válidos e sua colisão
+    private final int chunkCols; // Quantidade de blocos na horizontal
+    private final int chunkRows; // Quantidade de blocos na vertical
+
+    private final int maxLoadedChunks; // Limite de blocos residentes
+    private final int streamRadius; // Raio de pré-carregamento, em blocos
+
+    // Blocos instalados (null = não residente); instalação sempre por CAS
+    private final AtomicReferenceArray<WorldChunk> chunks;
+
+    // Blocos já pedidos à thread de carregamento
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+
+    // Blocos recém-instalados, ainda não contabilizados na lista de residentes
+    private final ConcurrentLinkedQueue<WorldChunk> installed = new ConcurrentLinkedQueue<>();
+
+    // Blocos residentes passíveis de descarte, mantidos apenas pela thread da simulação
+    private WorldChunk[] resident = new WorldChunk[16];
+    private int residentCount = 0;
+
+    // Blocos alterados, retirados da lista acima por nunca poderem ser descartados
+    private int pinnedCount = 0;
+
+    // Relógio lógico da política LRU, avançado a cada pré-carregamento
+    private int clock = 0;
+
+    // Bloco central do último pré-carregamento (-1 = nenhum)
+    private int lastCenterCx = -1;
+    private int lastCenterCy = -1;
+
+    /**
+     * @param source          Origem dos dados do mapa
+     * @param chunkSize       Lado de cada bloco, em tiles (potência de 2)
+     * @param maxLoadedChunks Quantidade máxima de blocos residentes
+     * @param streamRadius    Raio (em blocos) pré-carregado ao redor do jogador
+     * @param tileTypes       Tipos de tile válidos; blocos com números fora dele
+     *                        são rejeitados na leitura
+     */
+    public ChunkedWorld(ChunkSource source, int chunkSize, int maxLoadedChunks, int streamRadius,
+            TileRegistry tileTypes) {
+        if (Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("O lado do bloco deve ser uma potência de 2: " + chunkSize);
+        }
+        this.source = source;
+        this.worldCols = source.getWorldCols();
+        this.worldRows = source.getWorldRows();
+        this.chunkSize = chunkSize;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1;
+        this.wordsPerRow = (chunkSize + 63) >>> 6;
+        this.tileTypes = tileTypes;
+        this.chunkCols = (worldCols + chunkSize - 1) / chunkSize;
+        this.chunkRows = (worldRows + chunkSize - 1) / chunkSize;
+        this.maxLoadedChunks = maxLoadedChunks;
+        this.streamRadius = streamRadius;
+        this.chunks = new AtomicReferenceArray<>(chunkCols * chunkRows);
+    }
+
+    /**
+     * Retorna o número do tile na posição informada, carregando o bloco que a
+     * contém caso ainda não esteja em memória.
+     *
+     * @param col coluna no mapa
+     * @param row linha no mapa
+     * @return índice do tile
+     */
+    public int getTile(int col, int row) {
+        checkBounds(col, row);
+        WorldChunk chunk = chunk(col >> chunkShift, row >> chunkShift);
+        chunk.lastUsed = clock;
+        return chunk.tiles[((row & chunkMask) << chunkShift) | (col & chunkMask)];
+    }
+
+    /**
+     * Altera o tile de uma posição. O bloco alterado passa a ser mantido em
+     * memória até o fim do jogo.
+     *
+     * @param col     coluna no mapa
+     * @param row     linha no mapa
+     * @param tileNum novo índice de tile
+     * @return true se o tile mudou
+     * @throws IllegalArgumentException se o tile não estiver definido
+     */
+    public boolean setTile(int col, int row, int tileNum) {
+        checkBounds(col, row);
+        if (!tileTypes.isDefined(tileNum)) {
+            throw new IllegalArgumentException("Tile não definido: " + tileNum);
+        }
+        WorldChunk chunk = chunk(col >> chunkShift, row >> chunkShift);
+        int offset = ((row & chunkMask) << chunkShift) | (col & chunkMask);
+        if (chunk.tiles[offset] == tileNum) {
+            return false;
+        }
+        chunk.modified = true;
+        chunk.tiles[offset] = tileNum;
+        setSolidBit(chunk.solid, col & chunkMask, row & chunkMask, tileTypes.isSolid(tileNum));
+        return true;
+    }
+
+    /**
+     * Verifica se o tile na posição informada possui colisão, consultando o mapa
+     * de bits do bloco (sem consultar o tipo do tile).
+     *
+     * @param col coluna no mapa
+     * @param row linha no mapa
+     * @return true se o tile for sólido
+     */
+    public boolean isSolid(int col, int row) {
+        checkBounds(col, row);
+        WorldChunk chunk = chunk(col >> chunkShift, row >> chunkShift);
+        chunk.lastUsed = clock;
+        int x = col & chunkMask;
+        long word = chunk.solid[(row & chunkMask) * wordsPerRow + (x >>> 6)];
+        return (word & (1L << (x & 63))) != 0;
+    }
+
+    /**
+     * Verifica se algum tile de uma região retangular possui colisão, testando
+     * até 64 tiles de uma linha por operação.
+     *
+     * @param minCol primeira coluna da região
+     * @param minRow primeira linha da região
+     * @param maxCol última coluna da região (inclusive)
+     * @param maxRow última linha da região (inclusive)
+     * @return true se algum tile da região for sólido
+     */
+    public boolean anySolid(int minCol, int minRow, int maxCol, int maxRow) {
+        checkBounds(minCol, minRow);
+        checkBounds(maxCol, maxRow);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            if (nextSolidInRow(minCol, row, maxCol) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Procura, em uma linha, o primeiro tile sólido a partir de uma coluna,
+     * testando até 64 tiles por operação.
+     *
+     * @param fromCol coluna inicial da busca
+     * @param row     linha no mapa
+     * @param toCol   última coluna da busca (inclusive)
+     * @return coluna do primeiro tile sólido, ou -1 se não houver
+     */
+    public int nextSolidInRow(int fromCol, int row, int toCol) {
+        checkBounds(fromCol, row);
+        checkBounds(toCol, row);
+
+        int y = row & chunkMask;
+        int col = fromCol;
+        while (col <= toCol) {
+            WorldChunk chunk = chunk(col >> chunkShift, row >> chunkShift);
+            chunk.lastUsed = clock;
+
+            // Trecho da linha dentro deste bloco
+            int chunkFirstCol = col & ~chunkMask;
+            int from = col - chunkFirstCol;
+            int to = Math.min(toCol - chunkFirstCol, chunkMask);
+
+            for (int w = from >>> 6; w <= to >>> 6; w++) {
+                int lo = Math.max(from, w << 6) - (w << 6);
+                int hi = Math.min(to, (w << 6) + 63) - (w << 6);
+                long mask = (-1L >>> (63 - hi)) & (-1L << lo);
+                long bits = chunk.solid[y * wordsPerRow + w] & mask;
+                if (bits != 0) {
+                    return chunkFirstCol + (w << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            }
+            col = chunkFirstCol + chunkSize;
+        }
+        return -1;
+    }
+
+    /**
+     * Pede o carregamento dos blocos dentro do raio configurado ao redor do tile
+     * informado e descarta os menos usados caso o limite tenha sido excedido.
+     * Deve ser chamado uma vez por tick, na thread da simulação; enquanto o tile
+     * central permanecer no mesmo bloco, o custo é apenas o de uma comparação.
+     *
+     * @param col coluna do tile central (normalmente o do jogador)
+     * @param row linha do tile central
+     */
+    public void streamAround(int col, int row) {
+        int centerCx = col >> chunkShift;
+        int centerCy = row >> chunkShift;
+
+        // Sem mudança de bloco nem blocos novos, os pedidos anteriores continuam válidos
+        if (centerCx == lastCenterCx && centerCy == lastCenterCy && installed.isEmpty()) {
+            return;
+        }
+        lastCenterCx = centerCx;
+        lastCenterCy = centerCy;
+
+        clock++;
+        drainInstalled();
+        int minCx = Math.max(0, centerCx - streamRadius);
+        int maxCx = Math.min(chunkCols - 1, centerCx + streamRadius);
+        int minCy = Math.max(0, centerCy - streamRadius);
+        int maxCy = Math.min(chunkRows - 1, centerCy + streamRadius);
+
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                int index = cy * chunkCols + cx;
+                WorldChunk chunk = chunks.get(index);
+
+                if (chunk != null) {
+                    chunk.lastUsed = clock; // Blocos próximos nunca são os menos usados
+                } else if (pending.add(index)) {
+                    LOADER.execute(() -> loadInBackground(index));
+                }
+            }
+        }
+
+        if (residentCount + pinnedCount > maxLoadedChunks) {
+            evictLeastRecentlyUsed(minCx, maxCx, minCy, maxCy);
+        }
+    }
+
+    /**
+     * @return largura do mundo em tiles
+     */
+    public int getWorldCols() {
+        return worldCols;
+    }
+
+    /**
+     * @return altura do mundo em tiles
+     */
+    public int getWorldRows() {
+        return worldRows;
+    }
+
+    /**
+     * @return quantidade de blocos contabilizados como residentes
+     */
+    public int getResidentCount() {
+        return residentCount + pinnedCount;
+    }
+
+    private void checkBounds(int col, int row) {
+        if (col < 0 || row < 0 || col >= worldCols || row >= worldRows) {
+            throw new IndexOutOfBoundsException(
+                    "Tile fora do mundo: (" + col + ", " + row + ") em " + worldCols + "x" + worldRows);
+        }
+    }
+
+    /**
+     * Retorna o bloco informado, carregando-o de forma síncrona se necessário.
+     */
+    private WorldChunk chunk(int cx, int cy) {
+        int index = cy * chunkCols + cx;
+        WorldChunk chunk = chunks.get(index);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        try {
+            return install(read(index));
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar o bloco " + cx + "," + cy + " do mapa.");
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Tarefa da thread de carregamento: lê o bloco e o instala, caso nenhuma
+     * leitura síncrona o tenha feito antes.
+     */
+    private void loadInBackground(int index) {
+        try {
+            if (chunks.get(index) == null) {
+                install(read(index));
+            }
+        } catch (IOException e) {
+            // O bloco será carregado na hora quando for lido, relatando o erro
+            System.err.println("Erro ao pré-carregar o bloco " + index + " do mapa: " + e.getMessage());
+        } finally {
+            pending.remove(index);
+        }
+    }
+
+    private WorldChunk read(int index) throws IOException {
+        int[] tiles = new int[chunkSize * chunkSize];
+        int cx = index % chunkCols;
+        int cy = index / chunkCols;
+        source.readChunk(cx, cy, chunkSize, tiles);
+
+        // Valida os tiles dentro do mundo e deriva deles o mapa de bits de colisão
+        int width = Math.min(chunkSize, worldCols - (cx << chunkShift));
+        int height = Math.min(chunkSize, worldRows - (cy << chunkShift));
+        long[] solid = new long[chunkSize * wordsPerRow];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int tileNum = tiles[y * chunkSize + x];
+                if (!tileTypes.isDefined(tileNum)) {
+                    throw new IOException("Tile não definido " + tileNum + " na posição "
+                            + ((cx << chunkShift) + x) + "," + ((cy << chunkShift) + y) + " do mapa");
+                }
+                if (tileTypes.isSolid(tileNum)) {
+                    setSolidBit(solid, x, y, true);
+                }
+            }
+        }
+
+        WorldChunk chunk = new WorldChunk(index, tiles, solid);
+        chunk.lastUsed = clock;
+        return chunk;
+    }
+
+    private void setSolidBit(long[] solid, int x, int y, boolean value) {
+        int word = y * wordsPerRow + (x >>> 6);
+        if (value) {
+            solid[word] |= 1L << (x & 63);
+        } else {
+            solid[word] &= ~(1L << (x & 63));
+        }
+    }
+
+    /**
+     * Publica o bloco lido. Se outra thread instalou o mesmo bloco antes, a
+     * cópia já publicada prevalece.
+     */
+    private WorldChunk install(WorldChunk chunk) {
+        if (chunks.compareAndSet(chunk.index, null, chunk)) {
+            installed.add(chunk);
+            return chunk;
+        }
+        return chunks.get(chunk.index);
+    }
+
+    /**
+     * Move os blocos recém-instalados para a lista de residentes.
+     */
+    private void drainInstalled() {
+        WorldChunk chunk;
+        while ((chunk = installed.poll()) != null) {
+            if (residentCount == resident.length) {
+                resident = Arrays.copyOf(resident, resident.length * 2);
+            }
+            resident[residentCount++] = chunk;
+        }
+    }
+
+    /**
+     * Descarta os blocos menos usados até voltar ao limite, preservando os que
+     * estão dentro da faixa informada (em coordenadas de bloco) e os alterados.
+     */
+    private void evictLeastRecentlyUsed(int minCx, int maxCx, int minCy, int maxCy) {
+        while (residentCount + pinnedCount > maxLoadedChunks) {
+            int oldest = -1;
+
+            for (int i = 0; i < residentCount; i++) {
+                WorldChunk chunk = resident[i];
+
+                // Blocos alterados saem da lista, para não serem reavaliados a cada descarte
+                if (chunk.modified) {
+                    resident[i--] = resident[--residentCount];
+                    resident[residentCount] = null;
+                    pinnedCount++;
+                    continue;
+                }
+
+                int cx = chunk.index % chunkCols;
+                int cy = chunk.index / chunkCols;
+                boolean nearby = cx >= minCx && cx <= maxCx && cy >= minCy && cy <= maxCy;
+
+                if (!nearby && (oldest < 0 || chunk.lastUsed - resident[oldest].lastUsed < 0)) {
+                    oldest = i;
+                }
+            }
+
+            if (oldest < 0) {
+                return; // Todos os residentes estão em uso ou foram alterados
+            }
+
+            chunks.set(resident[oldest].index, null);
+            resident[oldest] = resident[--residentCount];
+            resident[residentCount] = null;
+        }
+    }
+}
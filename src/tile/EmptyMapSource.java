@@ -0,0 +1,34 @@
+package tile;
+
+import java.util.Arrays;
+
+/**
+ * Mapa sem dados de origem: todos os tiles começam como 0.
+ * Usado por mundos gerados por código, que preenchem os tiles via
+ * {@link TileManager#setTileNumber(int, int, int)}.
+ */
+public class EmptyMapSource implements ChunkSource {
+
+    private final int worldCols;
+    private final int worldRows;
+
+    public EmptyMapSource(int worldCols, int worldRows) {
+        this.worldCols = worldCols;
+        this.worldRows = worldRows;
+    }
+
+    @Override
+    public int getWorldCols() {
+        return worldCols;
+    }
+
+    @Override
+    public int getWorldRows() {
+        return worldRows;
+    }
+
+    @Override
+    public void readChunk(int chunkCol, int chunkRow, int chunkSize, int[] dest) {
+        Arrays.fill(dest, 0);
+    }
+}
@@ -0,0 +1,163 @@
+package tile;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import main.Config;
+
+/**
+ * Converte mapas do formato texto para o formato binário lido pelo
+ * {@link BinaryMapSource}.
+ *
+ * Uso: {@code java tile.MapConverter <mapa.txt> <mapa.azm> [--rle] [--chunkSize=N]}
+ *
+ * O tamanho de bloco padrão é o de `world.chunkSize`, o que permite ao jogo ler
+ * cada bloco com uma única decodificação.
+ */
+public class MapConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: java tile.MapConverter <mapa.txt> <mapa.azm> [--rle] [--chunkSize=N]");
+            System.exit(1);
+        }
+
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        boolean rle = false;
+        int chunkSize = Config.WORLD_CHUNK_SIZE;
+
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--rle")) {
+                rle = true;
+            } else if (args[i].startsWith("--chunkSize=")) {
+                chunkSize = Integer.parseInt(args[i].substring("--chunkSize=".length()));
+            } else {
+                throw new IllegalArgumentException("Opção inválida: " + args[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        TextMapSource source;
+        try (InputStream is = Files.newInputStream(input)) {
+            source = new TextMapSource(is, input.toString());
+        }
+        write(source, output, chunkSize, rle);
+
+        System.out.printf("%s -> %s: %dx%d tiles, %d bytes em %.1f ms%n",
+                input, output, source.getWorldCols(), source.getWorldRows(), Files.size(output),
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * Grava o mapa fornecido pela origem no formato binário.
+     * Os tiles são gravados com 1 byte quando todos os índices cabem em 8 bits e
+     * com 2 bytes caso contrário.
+     *
+     * @param source    Origem dos tiles
+     * @param output    Arquivo de destino (sobrescrito se existir)
+     * @param chunkSize Lado dos blocos gravados, em tiles
+     * @param rle       Se os blocos devem ser comprimidos com RLE
+     * @throws IOException se a origem não puder ser lida ou o destino gravado
+     */
+    public static void write(ChunkSource source, Path output, int chunkSize, boolean rle) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Tamanho de bloco inválido: " + chunkSize);
+        }
+
+        int cols = source.getWorldCols();
+        int rows = source.getWorldRows();
+        int chunkCols = (cols + chunkSize - 1) / chunkSize;
+        int chunkRows = (rows + chunkSize - 1) / chunkSize;
+        int chunkCount = chunkCols * chunkRows;
+        int[] tiles = new int[chunkSize * chunkSize];
+
+        // Primeira passada: maior índice de tile, que define a largura gravada
+        int maxTile = 0;
+        for (int cy = 0; cy < chunkRows; cy++) {
+            for (int cx = 0; cx < chunkCols; cx++) {
+                source.readChunk(cx, cy, chunkSize, tiles);
+                for (int tile : tiles) {
+                    if (tile < 0 || tile > 0xFFFF) {
+                        throw new IOException("Índice de tile fora do formato binário (0..65535): " + tile);
+                    }
+                    maxTile = Math.max(maxTile, tile);
+                }
+            }
+        }
+        int bytesPerTile = maxTile <= 0xFF ? 1 : 2;
+
+        // Segunda passada: codifica os blocos e monta a tabela de deslocamentos
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int[] offsets = new int[chunkCount];
+        int[] lengths = new int[chunkCount];
+        long dataStart = BinaryMapSource.HEADER_SIZE + (long) chunkCount * BinaryMapSource.TABLE_ENTRY_SIZE;
+
+        for (int index = 0; index < chunkCount; index++) {
+            source.readChunk(index % chunkCols, index / chunkCols, chunkSize, tiles);
+
+            long offset = dataStart + body.size();
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("Mapa grande demais para o formato binário (limite de 2 GB)");
+            }
+            offsets[index] = (int) offset;
+
+            if (rle) {
+                encodeRle(tiles, bytesPerTile, body);
+            } else {
+                for (int tile : tiles) {
+                    writeTile(body, tile, bytesPerTile);
+                }
+            }
+            lengths[index] = (int) (dataStart + body.size() - offset);
+        }
+
+        try (OutputStream os = Files.newOutputStream(output);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            out.writeInt(BinaryMapSource.MAGIC);
+            out.writeShort(BinaryMapSource.VERSION);
+            out.writeByte(bytesPerTile);
+            out.writeByte(rle ? BinaryMapSource.FLAG_RLE : 0);
+            out.writeInt(cols);
+            out.writeInt(rows);
+            out.writeInt(chunkSize);
+            for (int index = 0; index < chunkCount; index++) {
+                out.writeInt(offsets[index]);
+                out.writeInt(lengths[index]);
+            }
+            body.writeTo(out);
+        }
+    }
+
+    /**
+     * Codifica os tiles como pares (repetições, tile), com no máximo 65535
+     * repetições por par.
+     */
+    private static void encodeRle(int[] tiles, int bytesPerTile, ByteArrayOutputStream out) {
+        int i = 0;
+        while (i < tiles.length) {
+            int tile = tiles[i];
+            int run = 1;
+            while (i + run < tiles.length && tiles[i + run] == tile && run < 0xFFFF) {
+                run++;
+            }
+            out.write(run >>> 8);
+            out.write(run);
+            writeTile(out, tile, bytesPerTile);
+            i += run;
+        }
+    }
+
+    private static void writeTile(ByteArrayOutputStream out, int tile, int bytesPerTile) {
+        if (bytesPerTile == 2) {
+            out.write(tile >>> 8);
+        }
+        out.write(tile);
+    }
+}
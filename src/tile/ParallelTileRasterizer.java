@@ -0,0 +1,191 @@
+package tile;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import main.Camera;
+import main.Config;
+import utils.AtlasRegion;
+
+/**
+ * Rasterizador de software da camada de tiles, dividido entre vários núcleos.
+ *
+ * A tela é dividida em faixas horizontais, desenhadas em paralelo em um
+ * {@link ForkJoinPool} diretamente no vetor de pixels de uma única imagem do
+ * tamanho da tela. Cada faixa escreve apenas nas suas linhas, então não há
+ * sincronização entre elas; ao final, a imagem é apresentada com um único
+ * drawImage.
+ *
+ * Os pixels de cada tipo de tile são copiados do atlas uma única vez, já
+ * compostos sobre fundo preto, e os números dos tiles visíveis são lidos do
+ * mundo pela thread que desenha antes de as faixas começarem, de modo que as
+ * tarefas paralelas só acessam vetores primitivos.
+ */
+public class ParallelTileRasterizer {
+
+    private static final int OUTSIDE = -1; // Posição fora do mundo (desenhada em preto)
+    private static final int BACKGROUND = 0xFF000000;
+
+    private final TileManager tileManager;
+    private final ForkJoinPool pool;
+
+    private final int tileSize; // Lado do tile em pixels de tela
+    private final int[][] tilePixels; // Pixels opacos de cada tipo de tile (null = não definido)
+
+    private final BufferedImage frame; // Imagem do tamanho da tela apresentada a cada frame
+    private final int[] pixels; // Vetor de pixels da imagem acima
+    private final int width;
+    private final int height;
+
+    // Tiles da janela visível, preenchidos a cada frame (OUTSIDE fora do mundo)
+    private int[] visible = new int[0];
+    private int visibleCols;
+    private int firstCol;
+    private int firstRow;
+    private int cameraX;
+    private int cameraY;
+
+    /**
+     * @param tileManager Fonte do layout do mapa
+     * @param tiles       Tipos de tile, com imagens do tamanho de um tile
+     * @param threads     Quantidade de threads do pool (0 = uma por processador)
+     */
+    public ParallelTileRasterizer(TileManager tileManager, TileRegistry tiles, int threads) {
+        this.tileManager = tileManager;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+
+        this.tileSize = Config.TILE_SIZE;
+        this.tilePixels = new int[tiles.capacity()][];
+        for (int tileNum = 0; tileNum < tilePixels.length; tileNum++) {
+            if (tiles.isDefined(tileNum)) {
+                tilePixels[tileNum] = opaquePixels(tileNum, tiles.getImage(tileNum));
+            }
+        }
+
+        this.width = Config.SCREEN_WIDTH;
+        this.height = Config.SCREEN_HEIGHT;
+        this.frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Rasteriza a área visível da câmera e a desenha na posição (0, 0).
+     *
+     * @param g2     Contexto gráfico de destino
+     * @param camera Câmera que define a região visível
+     */
+    public void draw(Graphics2D g2, Camera camera) {
+        captureVisible(camera);
+        pool.invoke(new Band(0, height));
+        g2.drawImage(frame, 0, 0, null);
+    }
+
+    /**
+     * Lê os números dos tiles que a câmera alcança. Executado pela thread que
+     * desenha, já que o carregamento de blocos do mundo não é feito para ser
+     * disputado pelas tarefas das faixas.
+     */
+    private void captureVisible(Camera camera) {
+        cameraX = camera.getWorldX();
+        cameraY = camera.getWorldY();
+        firstCol = camera.firstVisibleCol();
+        firstRow = camera.firstVisibleRow();
+        visibleCols = camera.lastVisibleCol() - firstCol + 1;
+        int visibleRows = camera.lastVisibleRow() - firstRow + 1;
+
+        if (visible.length < visibleCols * visibleRows) {
+            visible = new int[visibleCols * visibleRows];
+        }
+
+        int worldCols = tileManager.getMaxWorldCol();
+        int worldRows = tileManager.getMaxWorldRow();
+        for (int r = 0; r < visibleRows; r++) {
+            int row = firstRow + r;
+            for (int c = 0; c < visibleCols; c++) {
+                int col = firstCol + c;
+                boolean inside = col >= 0 && col < worldCols && row >= 0 && row < worldRows;
+                visible[r * visibleCols + c] = inside ? tileManager.getTileNumber(col, row) : OUTSIDE;
+            }
+        }
+    }
+
+    /**
+     * Desenha as linhas de tela [y0, y1) copiando, para cada tile tocado pela
+     * linha, o trecho correspondente de uma linha de seus pixels.
+     */
+    private void rasterize(int y0, int y1) {
+        for (int y = y0; y < y1; y++) {
+            int worldY = cameraY + y;
+            int r = Math.floorDiv(worldY, tileSize) - firstRow;
+            int srcRow = Math.floorMod(worldY, tileSize) * tileSize;
+            int lineStart = y * width;
+
+            int x = 0;
+            int c = 0;
+            int srcCol = Math.floorMod(cameraX, tileSize); // A primeira coluna pode começar no meio
+            while (x < width) {
+                int span = Math.min(tileSize - srcCol, width - x);
+                int tileNum = visible[r * visibleCols + c];
+                if (tileNum == OUTSIDE) {
+                    Arrays.fill(pixels, lineStart + x, lineStart + x + span, BACKGROUND);
+                } else {
+                    System.arraycopy(tilePixels[tileNum], srcRow + srcCol, pixels, lineStart + x, span);
+                }
+                x += span;
+                c++;
+                srcCol = 0;
+            }
+        }
+    }
+
+    /**
+     * Copia os pixels de um tile do atlas, compondo-os sobre fundo preto como os
+     * demais modos de desenho da camada.
+     */
+    private int[] opaquePixels(int tileNum, AtlasRegion region) {
+        if (region.getWidth() != tileSize || region.getHeight() != tileSize) {
+            throw new IllegalArgumentException("Imagem do tile " + tileNum + " não tem o tamanho de um tile: "
+                    + region.getWidth() + "x" + region.getHeight());
+        }
+
+        int[] argb = region.getPage().getRGB(region.getX(), region.getY(), tileSize, tileSize, null, 0, tileSize);
+        for (int i = 0; i < argb.length; i++) {
+            int a = argb[i] >>> 24;
+            if (a != 0xFF) {
+                int red = ((argb[i] >> 16) & 0xFF) * a / 0xFF;
+                int green = ((argb[i] >> 8) & 0xFF) * a / 0xFF;
+                int blue = (argb[i] & 0xFF) * a / 0xFF;
+                argb[i] = BACKGROUND | (red << 16) | (green << 8) | blue;
+            }
+        }
+        return argb;
+    }
+
+    /**
+     * Faixa de linhas da tela, dividida ao meio enquanto for maior que um tile.
+     */
+    private class Band extends RecursiveAction {
+
+        private final int y0;
+        private final int y1;
+
+        Band(int y0, int y1) {
+            this.y0 = y0;
+            this.y1 = y1;
+        }
+
+        @Override
+        protected void compute() {
+            if (y1 - y0 <= tileSize) {
+                rasterize(y0, y1);
+                return;
+            }
+            int mid = (y0 + y1) >>> 1;
+            invokeAll(new Band(y0, mid), new Band(mid, y1));
+        }
+    }
+}
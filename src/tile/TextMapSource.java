@@ -0,0 +1,109 @@
+package tile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapa no formato texto original: cada linha do arquivo representa uma linha
+ * da grade de tiles, e cada número separado por espaço representa o índice de
+ * um tile. As dimensões do mundo são deduzidas do próprio arquivo.
+ *
+ * Por não permitir acesso direto a um bloco, o formato texto é lido por
+ * completo na criação; os blocos são então copiados dessa grade.
+ */
+public class TextMapSource implements ChunkSource {
+
+    private final int worldCols;
+    private final int worldRows;
+    private final int[] tiles; // Grade completa, linha a linha
+
+    /**
+     * @param filePath Caminho do arquivo de mapa dentro do classpath (ex:
+     *                 "/res/maps/map01.txt")
+     * @throws IOException se o arquivo não existir ou estiver malformado
+     */
+    public TextMapSource(String filePath) throws IOException {
+        this(TextMapSource.class.getResourceAsStream(filePath), filePath);
+    }
+
+    /**
+     * @param is   Conteúdo do mapa (fechado ao fim da leitura)
+     * @param name Nome do mapa, usado nas mensagens de erro
+     * @throws IOException se o conteúdo não existir ou estiver malformado
+     */
+    public TextMapSource(InputStream is, String name) throws IOException {
+        if (is == null) {
+            throw new IOException("Arquivo de mapa não encontrado: " + name);
+        }
+
+        // Cada linha é dividida uma única vez em seus números (tiles)
+        List<String[]> lines = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line.trim().split("\\s+"));
+                }
+            }
+        }
+
+        if (lines.isEmpty()) {
+            throw new IOException("Arquivo de mapa vazio: " + name);
+        }
+
+        this.worldCols = lines.get(0).length;
+        this.worldRows = lines.size();
+        this.tiles = new int[worldCols * worldRows];
+
+        for (int row = 0; row < worldRows; row++) {
+            String[] numbers = lines.get(row);
+            if (numbers.length != worldCols) {
+                throw new IOException("Linha " + (row + 1) + " do mapa " + name + " tem " + numbers.length
+                        + " tiles; esperado " + worldCols);
+            }
+
+            // Converte cada número textual para o índice do tile naquela posição
+            for (int col = 0; col < worldCols; col++) {
+                try {
+                    tiles[row * worldCols + col] = Integer.parseInt(numbers[col]);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Tile inválido na linha " + (row + 1) + " do mapa " + name + ": "
+                            + numbers[col], e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getWorldCols() {
+        return worldCols;
+    }
+
+    @Override
+    public int getWorldRows() {
+        return worldRows;
+    }
+
+    @Override
+    public void readChunk(int chunkCol, int chunkRow, int chunkSize, int[] dest) {
+        int firstCol = chunkCol * chunkSize;
+        int firstRow = chunkRow * chunkSize;
+        int width = Math.max(0, Math.min(chunkSize, worldCols - firstCol));
+
+        for (int y = 0; y < chunkSize; y++) {
+            int row = firstRow + y;
+            int offset = y * chunkSize;
+
+            if (row < worldRows && width > 0) {
+                System.arraycopy(tiles, row * worldCols + firstCol, dest, offset, width);
+            }
+            for (int x = (row < worldRows ? width : 0); x < chunkSize; x++) {
+                dest[offset + x] = 0; // Fora do mundo
+            }
+        }
+    }
+}
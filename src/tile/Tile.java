@@ -1,6 +1,6 @@
 package tile;
 
-import java.awt.image.BufferedImage;
+import utils.AtlasRegion;
 
 /**
  * Representa uma unidade básica do mapa (tile), que pode conter uma imagem e
@@ -8,9 +8,12 @@ import java.awt.image.BufferedImage;
  */
 public class Tile {
 
-    /** Imagem visual do tile usada durante a renderização do mapa */
-    public BufferedImage image;
+    /** Região do atlas (já na escala da tela) usada durante a renderização do mapa */
+    public AtlasRegion image;
 
     /** Define se o tile possui colisão com o jogador ou NPCs */
     public boolean collision = false;
+
+    /** Define se o tile possui animação */
+    public boolean animated = false;
 }
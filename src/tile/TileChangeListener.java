@@ -0,0 +1,24 @@
+package tile;
+
+/**
+ * Observador das alterações do mapa de um {@link TileManager} (ex: caches que
+ * dependem do layout ou da colisão dos tiles).
+ *
+ * As notificações ocorrem na thread que alterou o mapa, logo após a alteração.
+ */
+public interface TileChangeListener {
+
+    /**
+     * Um tile do mapa foi substituído por outro.
+     *
+     * @param col coluna do tile
+     * @param row linha do tile
+     */
+    void tileChanged(int col, int row);
+
+    /**
+     * O layout do mapa foi substituído por completo (possivelmente também as
+     * dimensões).
+     */
+    void mapChanged();
+}
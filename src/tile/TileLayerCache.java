@@ -0,0 +1,183 @@
+package tile;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import main.Camera;
+import main.Config;
+
+/**
+ * Cache da camada estática do mapa.
+ * O mundo é dividido em blocos quadrados de tiles; cada bloco é pré-renderizado
+ * uma única vez em uma imagem já na escala da tela, e a cada frame a câmera é
+ * composta com poucos drawImage (um por bloco visível), em vez de um por tile.
+ *
+ * Apenas os blocos cujos tiles foram alterados (via
+ * {@link #invalidateTile(int, int)}) são redesenhados, e blocos distantes da
+ * câmera são descartados para limitar o uso de memória em mapas grandes.
+ */
+public class TileLayerCache {
+
+    private final TileManager tileManager;
+
+    private final int chunkTiles; // Tamanho do bloco em tiles
+    private final int chunkPixels; // Tamanho do bloco em pixels de tela
+    private final int chunkCols; // Quantidade de blocos na horizontal
+    private final int chunkRows; // Quantidade de blocos na vertical
+
+    private final BufferedImage[] chunks; // Imagens pré-renderizadas (null = não residente)
+    private final boolean[] dirty; // Blocos residentes que precisam ser redesenhados
+
+    // Índices dos blocos atualmente residentes, para descarte sem varrer o mundo
+    private int[] resident = new int[16];
+    private int residentCount = 0;
+
+    /**
+     * @param tileManager Fonte dos tiles e do layout do mapa
+     * @param worldCols   Largura do mundo em tiles
+     * @param worldRows   Altura do mundo em tiles
+     * @param chunkTiles  Tamanho (em tiles) de cada bloco da cache
+     */
+    public TileLayerCache(TileManager tileManager, int worldCols, int worldRows, int chunkTiles) {
+        this.tileManager = tileManager;
+        this.chunkTiles = chunkTiles;
+        this.chunkPixels = chunkTiles * Config.TILE_SIZE;
+        this.chunkCols = (worldCols + chunkTiles - 1) / chunkTiles;
+        this.chunkRows = (worldRows + chunkTiles - 1) / chunkTiles;
+        this.chunks = new BufferedImage[chunkCols * chunkRows];
+        this.dirty = new boolean[chunkCols * chunkRows];
+    }
+
+    /**
+     * Desenha os blocos que interceptam a área visível da câmera, reconstruindo
+     * apenas os ausentes ou marcados como alterados.
+     *
+     * @param g2     Contexto gráfico de destino
+     * @param camera Câmera que define a região visível
+     */
+    public void draw(Graphics2D g2, Camera camera) {
+        int firstChunkCol = Math.max(0, Math.floorDiv(camera.firstVisibleCol(), chunkTiles));
+        int lastChunkCol = Math.min(chunkCols - 1, Math.floorDiv(camera.lastVisibleCol(), chunkTiles));
+        int firstChunkRow = Math.max(0, Math.floorDiv(camera.firstVisibleRow(), chunkTiles));
+        int lastChunkRow = Math.min(chunkRows - 1, Math.floorDiv(camera.lastVisibleRow(), chunkTiles));
+
+        for (int cy = firstChunkRow; cy <= lastChunkRow; cy++) {
+            for (int cx = firstChunkCol; cx <= lastChunkCol; cx++) {
+                int index = cy * chunkCols + cx;
+
+                if (chunks[index] == null) {
+                    chunks[index] = createChunkImage();
+                    addResident(index);
+                    dirty[index] = true;
+                }
+                if (dirty[index]) {
+                    renderChunk(chunks[index], cx, cy);
+                    dirty[index] = false;
+                }
+
+                g2.drawImage(chunks[index],
+                        cx * chunkPixels - camera.getWorldX(),
+                        cy * chunkPixels - camera.getWorldY(),
+                        null);
+            }
+        }
+
+        // Mantém residentes no máximo o dobro dos blocos visíveis
+        int visibleCount = (lastChunkCol - firstChunkCol + 1) * (lastChunkRow - firstChunkRow + 1);
+        if (residentCount > visibleCount * 2) {
+            evictOutside(firstChunkCol - 1, lastChunkCol + 1, firstChunkRow - 1, lastChunkRow + 1);
+        }
+    }
+
+    /**
+     * Marca como alterado o bloco que contém o tile informado.
+     *
+     * @param col coluna do tile alterado
+     * @param row linha do tile alterado
+     */
+    public void invalidateTile(int col, int row) {
+        int index = (row / chunkTiles) * chunkCols + (col / chunkTiles);
+        if (chunks[index] != null) {
+            dirty[index] = true;
+        }
+    }
+
+    /**
+     * Marca todos os blocos residentes como alterados (ex: após recarregar o mapa).
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < residentCount; i++) {
+            dirty[resident[i]] = true;
+        }
+    }
+
+    /**
+     * Redesenha todos os tiles de um bloco em sua imagem.
+     */
+    private void renderChunk(BufferedImage image, int cx, int cy) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setColor(Color.BLACK);
+        g2.fillRect(0, 0, chunkPixels, chunkPixels);
+
+        int firstCol = cx * chunkTiles;
+        int firstRow = cy * chunkTiles;
+        int lastCol = Math.min(tileManager.getMaxWorldCol(), firstCol + chunkTiles) - 1;
+        int lastRow = Math.min(tileManager.getMaxWorldRow(), firstRow + chunkTiles) - 1;
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = (row - firstRow) * Config.TILE_SIZE;
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = (col - firstCol) * Config.TILE_SIZE;
+                tileManager.getTileImage(col, row).draw(g2, x, y);
+            }
+        }
+
+        g2.dispose();
+    }
+
+    /**
+     * Cria a imagem de um bloco no formato nativo da tela, quando houver uma,
+     * evitando conversões de cor no momento da cópia.
+     */
+    private BufferedImage createChunkImage() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(chunkPixels, chunkPixels, BufferedImage.TYPE_INT_RGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration()
+                .createCompatibleImage(chunkPixels, chunkPixels, Transparency.OPAQUE);
+    }
+
+    private void addResident(int index) {
+        if (residentCount == resident.length) {
+            resident = Arrays.copyOf(resident, resident.length * 2);
+        }
+        resident[residentCount++] = index;
+    }
+
+    /**
+     * Libera os blocos residentes fora da faixa informada (em coordenadas de bloco).
+     */
+    private void evictOutside(int minCx, int maxCx, int minCy, int maxCy) {
+        int kept = 0;
+        for (int i = 0; i < residentCount; i++) {
+            int index = resident[i];
+            int cx = index % chunkCols;
+            int cy = index / chunkCols;
+
+            if (cx < minCx || cx > maxCx || cy < minCy || cy > maxCy) {
+                chunks[index].flush();
+                chunks[index] = null;
+                dirty[index] = false;
+            } else {
+                resident[kept++] = index;
+            }
+        }
+        residentCount = kept;
+    }
+}
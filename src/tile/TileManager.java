@@ -1,134 +1,164 @@
 package tile;
 
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.Map;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import main.Camera;
 import main.Config;
-import main.GamePanel;
+import utils.AtlasRegion;
 import utils.TileLoader;
 
 /**
  * Gerencia o carregamento e a renderização dos tiles do mapa.
- * Lê as imagens dos tiles e interpreta o layout do mapa a partir de um arquivo
- * texto.
+ * Lê as imagens dos tiles e mantém o layout do mapa em um {@link ChunkedWorld},
+ * que carrega em segundo plano apenas os blocos próximos ao jogador.
  */
 public class TileManager {
 
-    GamePanel gp; // Referência ao painel principal do jogo, necessária para acesso às dimensões e
-                  // contexto
+    private final TileRegistry tiles; // Tipos de tiles possíveis (grama, parede, água, etc.)
+    private ChunkedWorld world; // Layout do mapa, dividido em blocos carregados sob demanda
 
-    private Map<Integer, Tile> tileMap; // Vetor de tipos de tiles possíveis (grama, parede, água, etc.)
-    private int[][] mapTileNum; // Mapa bidimensional indicando qual tile está presente em cada posição
+    private TileLayerCache layerCache; // Camada estática pré-renderizada (modo CACHE)
+    private ParallelTileRasterizer rasterizer; // Criado no primeiro desenho no modo PARALLEL
+
+    private final List<TileChangeListener> changeListeners = new ArrayList<>();
 
     /**
      * Construtor do gerenciador de tiles.
-     * Inicializa os recursos gráficos e carrega o mapa a partir de um arquivo.
-     *
-     * @param gp Instância do GamePanel principal, para acesso às configurações do
-     *           jogo.
+     * Inicializa os recursos gráficos e carrega o mapa padrão a partir de um
+     * arquivo.
      */
-    public TileManager(GamePanel gp) {
-        this.gp = gp;
-
-        this.mapTileNum = new int[GamePanel.MAX_WORLD_COL][GamePanel.MAX_WORLD_ROW];
-        this.tileMap = TileLoader.loadTiles(Config.TILE_CONFIG_PATH, Config.TILE_IMAGE_BASE);
+    public TileManager() {
+        this.tiles = TileLoader.loadTiles(Config.TILE_CONFIG_PATH, Config.TILE_IMAGE_BASE);
         loadMap(Config.MAP_DEFAULT_PATH); // Carrega o layout do mapa
     }
 
     /**
-     * Carrega o layout do mapa a partir de um arquivo texto.
-     * Cada linha do arquivo representa uma linha da grade de tiles.
-     * Cada número separado por espaço representa o índice de um tile no array
-     * `tile[]`.
+     * Cria um mundo vazio (preenchido com o tile 0) com as dimensões informadas.
+     * Útil para mapas gerados por código e para medições com mundos de tamanhos
+     * diferentes do padrão.
+     *
+     * @param maxWorldCol Largura do mundo em tiles
+     * @param maxWorldRow Altura do mundo em tiles
+     */
+    public TileManager(int maxWorldCol, int maxWorldRow) {
+        this.tiles = TileLoader.loadTiles(Config.TILE_CONFIG_PATH, Config.TILE_IMAGE_BASE);
+        loadMap(new EmptyMapSource(maxWorldCol, maxWorldRow));
+    }
+
+    /**
+     * Carrega o layout do mapa a partir de um arquivo.
+     * Arquivos `.azm` estão no formato binário compacto ({@link BinaryMapSource}),
+     * mapeado em memória e lido bloco a bloco. Os demais estão no formato texto
+     * ({@link TextMapSource}): cada linha do arquivo representa uma linha da grade
+     * de tiles, e cada número separado por espaço representa o índice de um
+     * tile. Em ambos, as dimensões do mundo vêm do próprio arquivo. Cada bloco é
+     * validado ao ser lido: um número de tile sem definição interrompe a leitura
+     * com erro, em vez de falhar durante o desenho.
      *
      * @param filePath Caminho relativo do arquivo de mapa dentro do classpath (ex:
-     *                 "/res/maps/map01.txt").
+     *                 "/res/maps/world01.azm").
      */
     public void loadMap(String filePath) {
         try {
-            // Abre o arquivo como stream, a partir do caminho informado
-            InputStream is = getClass().getResourceAsStream(filePath);
-            BufferedReader br = new BufferedReader(new InputStreamReader(is));
-
-            int col = 0;
-            int row = 0;
-
-            // Lê linha por linha até preencher toda a grade definida por MAX_SCREEN_COL e
-            // MAX_SCREEN_ROW
-            while (col < GamePanel.MAX_WORLD_COL && row < GamePanel.MAX_WORLD_ROW) {
-                String line = br.readLine(); // Lê uma linha do mapa
-
-                while (col < GamePanel.MAX_WORLD_COL) {
-                    // Divide a linha em números (tiles) separados por espaço
-                    String[] numbers = line.split(" ");
-
-                    // Converte o número textual para inteiro, que representa o tipo de tile
-                    int number = Integer.parseInt(numbers[col]);
-
-                    // Armazena no mapa a posição correspondente ao tile
-                    mapTileNum[col][row] = number;
-                    col++;
-                }
-
-                // Quando termina de ler uma linha inteira, passa para a próxima
-                if (col == GamePanel.MAX_WORLD_COL) {
-                    col = 0;
-                    row++;
-                }
+            if (filePath.endsWith(".azm")) {
+                loadMap(BinaryMapSource.open(filePath));
+            } else {
+                loadMap(new TextMapSource(filePath));
             }
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar o mapa '" + filePath + "'.");
+            throw new RuntimeException(e);
+        }
+    }
 
-            br.close(); // Libera o recurso após leitura completa
+    /**
+     * Substitui o layout do mapa pelo fornecido pela origem informada.
+     * Nenhum bloco é lido neste momento: eles são carregados conforme o jogador
+     * se aproxima ou quando um tile é consultado.
+     *
+     * @param source Origem dos blocos do mapa
+     */
+    public void loadMap(ChunkSource source) {
+        this.world = new ChunkedWorld(source, Config.WORLD_CHUNK_SIZE,
+                Config.WORLD_MAX_LOADED_CHUNKS, Config.WORLD_STREAM_RADIUS_CHUNKS, tiles);
 
-        } catch (Exception e) {
-            // Em produção, substituir por sistema de logging (ex: SLF4J, Log4j) para maior
-            // controle
-            e.printStackTrace();
+        // O layout mudou por completo (possivelmente também as dimensões)
+        this.layerCache = new TileLayerCache(this, world.getWorldCols(), world.getWorldRows(),
+                Config.RENDER_CACHE_CHUNK_TILES);
+
+        for (TileChangeListener listener : changeListeners) {
+            listener.mapChanged();
         }
     }
 
     /**
-     * Renderiza o mapa completo de tiles na tela.
+     * Registra um observador das alterações do mapa.
      *
-     * @param g2 contexto gráfico para desenhar
+     * @param listener Observador notificado a cada tile alterado e a cada mapa carregado
      */
+    public void addChangeListener(TileChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
     /**
-     * Renderiza todos os tiles na tela com base na matriz do mapa carregado.
+     * Pré-carrega os blocos do mapa ao redor do tile informado e descarta os
+     * menos usados. Chamado a cada tick pela simulação com a posição do jogador.
      *
-     * @param g2 Contexto gráfico usado para desenhar as imagens dos tiles.
+     * @param col coluna do tile central
+     * @param row linha do tile central
      */
-    public void draw(Graphics2D g2) {
-        int worldCol = 0;
-        int worldRow = 0;
+    public void streamAround(int col, int row) {
+        world.streamAround(col, row);
+    }
 
-        // Itera por todas as colunas e linhas da matriz de mapa
-        while (worldCol < GamePanel.MAX_WORLD_COL && worldRow < GamePanel.MAX_WORLD_ROW) {
+    /**
+     * Renderiza a camada de tiles de acordo com a estratégia configurada em
+     * `render.tiles.mode`.
+     *
+     * @param g2     Contexto gráfico usado para desenhar as imagens dos tiles.
+     * @param camera Câmera que define a região visível do mundo
+     */
+    public void draw(Graphics2D g2, Camera camera) {
+        switch (Config.RENDER_TILE_MODE) {
+            case CACHE -> layerCache.draw(g2, camera);
+            case DIRECT -> drawDirect(g2, camera);
+            case PARALLEL -> {
+                if (rasterizer == null) {
+                    rasterizer = new ParallelTileRasterizer(this, tiles, Config.RENDER_PARALLEL_THREADS);
+                }
+                rasterizer.draw(g2, camera);
+            }
+        }
+    }
 
-            int tileNum = mapTileNum[worldCol][worldRow]; // Obtém o tipo de tile naquela posição
+    /**
+     * Renderiza apenas os tiles visíveis na tela, com base na posição da câmera.
+     * A faixa de colunas e linhas é calculada diretamente a partir da câmera,
+     * acrescida de uma margem (overscan) configurável, de forma que o custo por
+     * frame depende do tamanho da tela e não do tamanho do mundo.
+     *
+     * @param g2     Contexto gráfico usado para desenhar as imagens dos tiles.
+     * @param camera Câmera que define a região visível do mundo
+     */
+    private void drawDirect(Graphics2D g2, Camera camera) {
+        int overscan = Config.RENDER_OVERSCAN_TILES;
 
-            int worldX = worldCol * Config.TILE_SIZE;
-            int worldY = worldRow * Config.TILE_SIZE;
-            int screenX = worldX - gp.player.worldX + gp.player.screenX;
-            int screenY = worldY - gp.player.worldY + gp.player.screenY;
+        // Limita a janela visível (com overscan) às bordas do mundo
+        int firstCol = Math.max(0, camera.firstVisibleCol() - overscan);
+        int lastCol = Math.min(world.getWorldCols() - 1, camera.lastVisibleCol() + overscan);
+        int firstRow = Math.max(0, camera.firstVisibleRow() - overscan);
+        int lastRow = Math.min(world.getWorldRows() - 1, camera.lastVisibleRow() + overscan);
 
-            // Desenha o tile na posição atual
-            if (worldX + Config.TILE_SIZE > gp.player.worldX - gp.player.screenX &&
-                    worldX - Config.TILE_SIZE < gp.player.worldX + gp.player.screenX &&
-                    worldY + Config.TILE_SIZE > gp.player.worldY - gp.player.screenY &&
-                    worldY - Config.TILE_SIZE < gp.player.worldY + gp.player.screenY) {
-                BufferedImage img = tileMap.get(tileNum).image;
-                g2.drawImage(img, screenX, screenY, Config.TILE_SIZE, Config.TILE_SIZE, null);
-            }
+        for (int worldRow = firstRow; worldRow <= lastRow; worldRow++) {
+            int screenY = worldRow * Config.TILE_SIZE - camera.getWorldY();
 
-            worldCol++;
+            for (int worldCol = firstCol; worldCol <= lastCol; worldCol++) {
+                int screenX = worldCol * Config.TILE_SIZE - camera.getWorldX();
 
-            // Avança para a próxima linha da grade quando uma linha estiver completa
-            if (worldCol == GamePanel.MAX_WORLD_COL) {
-                worldCol = 0;
-                worldRow++;
+                getTileImage(worldCol, worldRow).draw(g2, screenX, screenY);
             }
         }
     }
@@ -141,7 +171,47 @@ public class TileManager {
      * @return índice do tile
      */
     public int getTileNumber(int col, int row) {
-        return mapTileNum[col][row];
+        return world.getTile(col, row);
+    }
+
+    /**
+     * Altera o tile de uma posição do mapa, invalidando apenas o bloco da camada
+     * em cache que o contém, e notifica os observadores registrados.
+     *
+     * @param col     coluna no mapa
+     * @param row     linha no mapa
+     * @param tileNum novo índice de tile (deve estar definido)
+     * @throws IllegalArgumentException se o tile não estiver definido
+     */
+    public void setTileNumber(int col, int row, int tileNum) {
+        if (world.setTile(col, row, tileNum)) {
+            layerCache.invalidateTile(col, row);
+            for (TileChangeListener listener : changeListeners) {
+                listener.tileChanged(col, row);
+            }
+        }
+    }
+
+    /**
+     * @return largura do mundo em tiles
+     */
+    public int getMaxWorldCol() {
+        return world.getWorldCols();
+    }
+
+    /**
+     * @return altura do mundo em tiles
+     */
+    public int getMaxWorldRow() {
+        return world.getWorldRows();
+    }
+
+    /**
+     * Retorna a região do atlas do tile presente na posição informada.
+     * Uso interno dos renderizadores do pacote.
+     */
+    AtlasRegion getTileImage(int col, int row) {
+        return tiles.getImage(world.getTile(col, row));
     }
 
     /**
@@ -151,7 +221,38 @@ public class TileManager {
      * @return true se tiver colisão, false caso contrário
      */
     public boolean hasCollision(int tileNum) {
-        Tile tile = tileMap.get(tileNum);
-        return tile != null && tile.collision;
+        return tiles.isSolid(tileNum);
+    }
+
+    /**
+     * Verifica se o tile na posição informada possui colisão, com um único teste
+     * de bit no mapa de colisão do bloco.
+     *
+     * @param col coluna no mapa
+     * @param row linha no mapa
+     * @return true se o tile for sólido
+     */
+    public boolean isSolid(int col, int row) {
+        return world.isSolid(col, row);
+    }
+
+    /**
+     * Verifica se algum tile da região retangular informada (limites inclusivos)
+     * possui colisão, testando até 64 tiles por operação.
+     *
+     * @return true se algum tile da região for sólido
+     */
+    public boolean anySolid(int minCol, int minRow, int maxCol, int maxRow) {
+        return world.anySolid(minCol, minRow, maxCol, maxRow);
+    }
+
+    /**
+     * Procura, em uma linha, o primeiro tile sólido entre duas colunas
+     * (inclusive), testando até 64 tiles por operação.
+     *
+     * @return coluna do primeiro tile sólido, ou -1 se não houver
+     */
+    public int nextSolidInRow(int fromCol, int row, int toCol) {
+        return world.nextSolidInRow(fromCol, row, toCol);
     }
 }
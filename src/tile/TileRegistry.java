@@ -0,0 +1,104 @@
+package tile;
+
+import java.util.Map;
+
+import utils.AtlasRegion;
+
+/**
+ * Tipos de tile indexados diretamente pelo número do tile.
+ * As propriedades de cada tipo ficam em vetores paralelos, consultados sem
+ * boxing nem busca em mapa durante o desenho e a verificação de colisões.
+ * Números sem definição (lacunas ou fora dos vetores) são tratados como
+ * inválidos.
+ */
+public class TileRegistry {
+
+    private final boolean[] defined; // Se o número corresponde a um tipo de tile
+    private final AtlasRegion[] images; // Região do atlas de cada tipo
+    private final boolean[] collision; // Se o tipo bloqueia movimento
+    private final boolean[] animated; // Se o tipo possui animação
+
+    /**
+     * @param tiles Tipos de tile definidos, por número (não negativo)
+     */
+    public TileRegistry(Map<Integer, Tile> tiles) {
+        int maxTileNum = -1;
+        for (int tileNum : tiles.keySet()) {
+            if (tileNum < 0) {
+                throw new IllegalArgumentException("Número de tile inválido: " + tileNum);
+            }
+            maxTileNum = Math.max(maxTileNum, tileNum);
+        }
+
+        int size = maxTileNum + 1;
+        this.defined = new boolean[size];
+        this.images = new AtlasRegion[size];
+        this.collision = new boolean[size];
+        this.animated = new boolean[size];
+
+        for (Map.Entry<Integer, Tile> entry : tiles.entrySet()) {
+            int tileNum = entry.getKey();
+            Tile tile = entry.getValue();
+            if (tile.image == null) {
+                throw new IllegalArgumentException("Tile " + tileNum + " sem imagem");
+            }
+
+            defined[tileNum] = true;
+            images[tileNum] = tile.image;
+            collision[tileNum] = tile.collision;
+            animated[tileNum] = tile.animated;
+        }
+    }
+
+    /**
+     * @param tileNum número do tile
+     * @return true se existe um tipo de tile com esse número
+     */
+    public boolean isDefined(int tileNum) {
+        return tileNum >= 0 && tileNum < defined.length && defined[tileNum];
+    }
+
+    /**
+     * @param tileNum número de um tile definido
+     * @return região do atlas com a imagem do tile
+     */
+    public AtlasRegion getImage(int tileNum) {
+        return images[tileNum];
+    }
+
+    /**
+     * @param tileNum número do tile
+     * @return true se o tile estiver definido e possuir colisão
+     */
+    public boolean isSolid(int tileNum) {
+        return tileNum >= 0 && tileNum < collision.length && collision[tileNum];
+    }
+
+    /**
+     * @param tileNum número do tile
+     * @return true se o tile estiver definido e for animado
+     */
+    public boolean isAnimated(int tileNum) {
+        return tileNum >= 0 && tileNum < animated.length && animated[tileNum];
+    }
+
+    /**
+     * @return maior número de tile definido mais um (tamanho dos vetores)
+     */
+    public int capacity() {
+        return defined.length;
+    }
+
+    /**
+     * @return quantidade de tipos de tile definidos
+     */
+    public int size() {
+        int count = 0;
+        for (boolean d : defined) {
+            if (d) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,14 @@
+package tile;
+
+/**
+ * Estratégias disponíveis para desenhar a camada de tiles do mapa.
+ * Selecionada pela propriedade `render.tiles.mode` do `config.properties`.
+ */
+public enum TileRenderMode {
+    /** Desenha cada tile visível individualmente, a cada frame */
+    DIRECT,
+    /** Desenha blocos pré-renderizados da camada estática (ver {@link TileLayerCache}) */
+    CACHE,
+    /** Rasteriza a tela em faixas paralelas e a apresenta com uma única cópia (ver {@link ParallelTileRasterizer}) */
+    PARALLEL
+}
@@ -0,0 +1,33 @@
+package tile;
+
+/**
+ * Bloco quadrado de tiles residente em memória.
+ * Os índices dos tiles ficam em um vetor linear, linha a linha, acompanhados
+ * de um mapa de bits de colisão (um bit por tile, cada linha do bloco
+ * começando em uma nova palavra de 64 bits).
+ */
+class WorldChunk {
+
+    final int index; // Posição do bloco na grade de blocos (linha * colunas + coluna)
+    final int[] tiles; // Índices dos tiles do bloco
+    final long[] solid; // Bits de colisão, linha a linha
+
+    /**
+     * Tick da última leitura do bloco, usado pela política LRU de descarte.
+     * Escrito sem sincronização: uma leitura atrasada apenas antecipa ou adia
+     * um descarte.
+     */
+    int lastUsed;
+
+    /**
+     * Blocos alterados durante o jogo não podem ser descartados, pois suas
+     * alterações não existem na origem dos dados.
+     */
+    volatile boolean modified;
+
+    WorldChunk(int index, int[] tiles, long[] solid) {
+        this.index = index;
+        this.tiles = tiles;
+        this.solid = solid;
+    }
+}
@@ -0,0 +1,212 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import main.Config;
+
+/**
+ * Cache em disco de recursos já processados (pixels decodificados e
+ * ampliados, metadados lidos dos JSON), para que inicializações seguintes
+ * não repitam esse trabalho.
+ *
+ * Cada entrada é um arquivo cujo nome é o hash SHA-256 do conteúdo dos
+ * recursos de origem, somado aos parâmetros que afetam o resultado (ex: a
+ * escala). Quando um recurso muda, seu hash muda e a entrada antiga deixa de
+ * ser encontrada: o recurso é processado de novo e a nova entrada gravada.
+ * Arquivos são gravados em um temporário e movidos atomicamente, de forma que
+ * uma entrada nunca é lida pela metade.
+ *
+ * Como as entradas antigas nunca voltam a ser encontradas, o diretório é
+ * limitado a {@code assets.cache.maxMegabytes}: cada leitura atualiza a data
+ * de modificação da entrada e, quando uma gravação ultrapassa o limite, as
+ * entradas usadas há mais tempo são apagadas.
+ *
+ * Falhas do cache nunca interrompem o jogo: entradas ilegíveis são tratadas
+ * como ausentes e falhas de gravação são apenas relatadas.
+ */
+public class AssetDiskCache {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static volatile boolean writeWarned = false; // Relata a primeira falha de gravação apenas
+
+    private record Entry(Path path, long size, FileTime lastUsed) {
+    }
+
+    private AssetDiskCache() {
+    }
+
+    /**
+     * @return true se o cache estiver habilitado no `config.properties`
+     */
+    public static boolean isEnabled() {
+        return Config.ASSETS_CACHE_ENABLED;
+    }
+
+    /**
+     * Calcula a chave de uma entrada a partir do conteúdo dos recursos de origem
+     * e de um sufixo com o tipo da entrada e seus parâmetros.
+     *
+     * @param suffix  Tipo e parâmetros da entrada (ex: "img-x3")
+     * @param sources Conteúdo dos recursos de origem
+     * @return chave usada como nome do arquivo da entrada
+     */
+    public static String key(String suffix, byte[]... sources) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] source : sources) {
+                // O tamanho separa as partes, para que a divisão não gere colisões
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(source.length).array());
+                digest.update(source);
+            }
+            return HEX.formatHex(digest.digest()) + "-" + suffix;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    /**
+     * Mapeia em memória a entrada informada.
+     *
+     * @param key Chave da entrada
+     * @return conteúdo da entrada (somente leitura), ou null se ela não existir
+     *         ou o cache estiver desabilitado
+     */
+    public static ByteBuffer read(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path path = entry(key);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            touch(path);
+            return data;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Entrada do cache de recursos ilegível, será regenerada: " + key);
+            return null;
+        }
+    }
+
+    /**
+     * Grava (ou substitui) a entrada informada.
+     *
+     * @param key  Chave da entrada
+     * @param data Conteúdo da entrada
+     */
+    public static void write(String key, byte[] data) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path target = entry(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), key, TEMP_SUFFIX);
+            Files.write(temp, data);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            prune(target);
+        } catch (IOException e) {
+            if (!writeWarned) {
+                writeWarned = true;
+                System.err.println("Não foi possível gravar o cache de recursos em '" + Config.ASSETS_CACHE_DIR
+                        + "': " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lê por completo um recurso do classpath.
+     *
+     * @param path Caminho do recurso (ex: "/res/tiles/tiles.json")
+     * @return conteúdo do recurso
+     * @throws UncheckedIOException se o recurso não existir ou não puder ser lido
+     */
+    public static byte[] readResource(String path) {
+        try (InputStream is = AssetDiskCache.class.getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IOException("Recurso não encontrado: " + path);
+            }
+            return is.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Marca a entrada como usada agora, para que seja a última a ser apagada.
+     */
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Apenas antecipa a remoção da entrada
+        }
+    }
+
+    /**
+     * Apaga as entradas usadas há mais tempo enquanto o diretório exceder o
+     * limite. A entrada recém-gravada nunca é apagada.
+     *
+     * @param keep Entrada recém-gravada
+     */
+    private static synchronized void prune(Path keep) throws IOException {
+        long limit = Config.ASSETS_CACHE_MAX_MEGABYTES * 1024L * 1024L;
+        List<Entry> entries = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.list(keep.getParent())) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    continue; // Gravação em andamento
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        entries.add(new Entry(path, attributes.size(), attributes.lastModifiedTime()));
+                        total += attributes.size();
+                    }
+                } catch (NoSuchFileException e) {
+                    // Apagada por outra instância do jogo
+                }
+            }
+        }
+        if (total <= limit) {
+            return;
+        }
+
+        entries.sort(Comparator.comparing(Entry::lastUsed));
+        for (Entry entry : entries) {
+            if (total <= limit) {
+                break;
+            }
+            if (!entry.path.equals(keep)) {
+                Files.deleteIfExists(entry.path);
+                total -= entry.size;
+            }
+        }
+    }
+
+    private static Path entry(String key) {
+        return Path.of(Config.ASSETS_CACHE_DIR, key);
+    }
+}
@@ -0,0 +1,201 @@
+package utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import main.Config;
+
+/**
+ * Carregamento de imagens compartilhado por todo o processo.
+ *
+ * Cada caminho do classpath é decodificado no máximo uma vez por escala, em um
+ * pool de threads de tamanho fixo: pedidos repetidos (inclusive simultâneos)
+ * recebem o mesmo {@link CompletableFuture}. Os pixels já ampliados também
+ * são guardados no {@link AssetDiskCache}, pelo hash do PNG de origem, de
+ * forma que as inicializações seguintes não decodificam PNG algum.
+ *
+ * Os carregadores pedem todas as imagens que vão usar antes de esperar pela
+ * primeira, de forma que as decodificações ocorrem em paralelo e o tempo de
+ * inicialização não cresce linearmente com a quantidade de imagens.
+ *
+ * O empacotamento no {@link SpriteAtlas} continua a cargo de quem pede a
+ * imagem, na ordem que preferir, o que mantém o layout do atlas determinístico.
+ */
+public class AssetManager {
+
+    private static final int IMAGE_MAGIC = 0x415A4943; // "AZIC"
+    private static final int IMAGE_HEADER_SIZE = 12; // magic, largura, altura
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private static final ExecutorService DECODER = Executors.newFixedThreadPool(
+            Config.ASSETS_LOADER_THREADS > 0 ? Config.ASSETS_LOADER_THREADS
+                    : Runtime.getRuntime().availableProcessors(),
+            task -> {
+                Thread thread = new Thread(task, "asset-decoder-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    // Imagens decodificadas (ou em decodificação), por caminho e escala
+    private static final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+
+    // Regiões do atlas compartilhado, por caminho
+    private static final ConcurrentHashMap<String, AtlasRegion> sharedRegions = new ConcurrentHashMap<>();
+
+    private AssetManager() {
+    }
+
+    /**
+     * Pede a decodificação de uma imagem, sem esperar por ela.
+     *
+     * @param path  Caminho da imagem no classpath (ex: "/res/objects/key.png")
+     * @param scale Fator de ampliação (1 = tamanho original)
+     * @return imagem ARGB ampliada; falha com {@link UncheckedIOException} se o
+     *         recurso não existir ou não puder ser lido
+     */
+    public static CompletableFuture<BufferedImage> request(String path, int scale) {
+        return images.computeIfAbsent(path + "@" + scale,
+                k -> CompletableFuture.supplyAsync(() -> decode(path, scale), DECODER));
+    }
+
+    /**
+     * Pede a decodificação de várias imagens na escala do atlas compartilhado,
+     * sem esperar por elas.
+     *
+     * @param paths Caminhos das imagens no classpath
+     */
+    public static void preload(String... paths) {
+        for (String path : paths) {
+            request(path, SpriteAtlas.shared().getScale());
+        }
+    }
+
+    /**
+     * Retorna uma imagem em tamanho original, esperando sua decodificação se
+     * necessário.
+     *
+     * @param path Caminho da imagem no classpath
+     * @return imagem original (sem escala)
+     * @throws UncheckedIOException se o recurso não existir ou não puder ser lido
+     */
+    public static BufferedImage image(String path) {
+        return image(path, 1);
+    }
+
+    /**
+     * Retorna uma imagem ampliada, esperando sua decodificação se necessário.
+     *
+     * @param path  Caminho da imagem no classpath
+     * @param scale Fator de ampliação
+     * @return imagem ARGB ampliada, pronta para {@link SpriteAtlas#addScaled}
+     * @throws UncheckedIOException se o recurso não existir ou não puder ser lido
+     */
+    public static BufferedImage image(String path, int scale) {
+        try {
+            return request(path, scale).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Retorna a região do atlas compartilhado com a imagem informada. Todos os
+     * pedidos pelo mesmo caminho recebem a mesma região.
+     *
+     * @param path Caminho da imagem no classpath
+     * @return região do atlas, já na escala da tela
+     * @throws UncheckedIOException se o recurso não existir ou não puder ser lido
+     */
+    public static AtlasRegion region(String path) {
+        AtlasRegion region = sharedRegions.get(path);
+        if (region != null) {
+            return region;
+        }
+        // Decodifica fora do mapa para não bloquear outros caminhos durante a espera
+        SpriteAtlas atlas = SpriteAtlas.shared();
+        BufferedImage image = image(path, atlas.getScale());
+        return sharedRegions.computeIfAbsent(path, p -> atlas.addScaled(image));
+    }
+
+    /**
+     * Descarta as imagens decodificadas mantidas em memória; os pedidos
+     * seguintes decodificam (ou leem do cache em disco) de novo. As regiões do
+     * atlas compartilhado continuam válidas. Usado pelas medições a frio dos
+     * carregadores.
+     */
+    public static void evictImages() {
+        images.clear();
+    }
+
+    /**
+     * Obtém a imagem ampliada do cache em disco ou, se ausente, decodifica o PNG
+     * e grava o resultado no cache.
+     */
+    private static BufferedImage decode(String path, int scale) {
+        byte[] source = AssetDiskCache.readResource(path);
+        String key = AssetDiskCache.key("img-x" + scale, source);
+
+        BufferedImage cached = readCached(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+            if (image == null) {
+                throw new IOException("Formato de imagem não suportado: " + path);
+            }
+            BufferedImage scaled = SpriteAtlas.scale(image, scale);
+            writeCached(key, scaled);
+            return scaled;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return imagem da entrada do cache, ou null se ausente ou inválida
+     */
+    private static BufferedImage readCached(String key) {
+        ByteBuffer data = AssetDiskCache.read(key);
+        if (data == null || data.remaining() < IMAGE_HEADER_SIZE || data.getInt() != IMAGE_MAGIC) {
+            return null;
+        }
+        int width = data.getInt();
+        int height = data.getInt();
+        if (width <= 0 || height <= 0 || data.remaining() != (long) width * height * Integer.BYTES) {
+            return null;
+        }
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        data.asIntBuffer().get(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+        return image;
+    }
+
+    private static void writeCached(String key, BufferedImage image) {
+        if (!AssetDiskCache.isEnabled()) {
+            return;
+        }
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        ByteBuffer data = ByteBuffer.allocate(IMAGE_HEADER_SIZE + pixels.length * Integer.BYTES);
+        data.putInt(IMAGE_MAGIC).putInt(image.getWidth()).putInt(image.getHeight());
+        data.asIntBuffer().put(pixels);
+        AssetDiskCache.write(key, data.array());
+    }
+}
@@ -1,18 +1,19 @@
 package utils;
 
 import main.Config;
-import main.GamePanel;
+import main.GameWorld;
 import objects.OBJ_Boots;
 import objects.OBJ_Chest;
 import objects.OBJ_Door;
 import objects.OBJ_Key;
+import objects.SuperObject;
 
 public class AssetSetter {
 
-    GamePanel gp;
+    GameWorld world;
 
-    public AssetSetter(GamePanel gp) {
-        this.gp = gp;
+    public AssetSetter(GameWorld world) {
+        this.world = world;
     }
 
     /**
@@ -21,40 +22,32 @@ public class AssetSetter {
      * config.properties.
      */
     public void setObject() {
-        // Chaves
-        gp.obj[0] = new OBJ_Key();
-        gp.obj[0].worldX = 23 * Config.TILE_SIZE;
-        gp.obj[0].worldY = 7 * Config.TILE_SIZE;
-
-        gp.obj[1] = new OBJ_Key();
-        gp.obj[1].worldX = 23 * Config.TILE_SIZE;
-        gp.obj[1].worldY = 40 * Config.TILE_SIZE;
+        // Decodifica as imagens de todos os tipos de objeto de uma vez
+        AssetManager.preload(OBJ_Key.IMAGE_PATH, OBJ_Door.IMAGE_PATH, OBJ_Chest.IMAGE_PATH, OBJ_Boots.IMAGE_PATH);
 
-        gp.obj[2] = new OBJ_Key();
-        gp.obj[2].worldX = 38 * Config.TILE_SIZE;
-        gp.obj[2].worldY = 8 * Config.TILE_SIZE;
+        // Chaves
+        place(new OBJ_Key(), 23, 7);
+        place(new OBJ_Key(), 23, 40);
+        place(new OBJ_Key(), 38, 8);
 
         // Portas
-        gp.obj[3] = new OBJ_Door();
-        gp.obj[3].worldX = 10 * Config.TILE_SIZE;
-        gp.obj[3].worldY = 11 * Config.TILE_SIZE;
-
-        gp.obj[4] = new OBJ_Door();
-        gp.obj[4].worldX = 8 * Config.TILE_SIZE;
-        gp.obj[4].worldY = 28 * Config.TILE_SIZE;
-
-        gp.obj[5] = new OBJ_Door();
-        gp.obj[5].worldX = 12 * Config.TILE_SIZE;
-        gp.obj[5].worldY = 22 * Config.TILE_SIZE;
+        place(new OBJ_Door(), 10, 11);
+        place(new OBJ_Door(), 8, 28);
+        place(new OBJ_Door(), 12, 22);
 
         // Baú
-        gp.obj[6] = new OBJ_Chest();
-        gp.obj[6].worldX = 10 * Config.TILE_SIZE;
-        gp.obj[6].worldY = 7 * Config.TILE_SIZE;
+        place(new OBJ_Chest(), 10, 7);
 
         // Bota
-        gp.obj[7] = new OBJ_Boots();
-        gp.obj[7].worldX = 37 * Config.TILE_SIZE;
-        gp.obj[7].worldY = 42 * Config.TILE_SIZE;
+        place(new OBJ_Boots(), 37, 42);
+    }
+
+    /**
+     * Posiciona o objeto no tile informado e o adiciona ao mundo.
+     */
+    private void place(SuperObject object, int col, int row) {
+        object.worldX = col * Config.TILE_SIZE;
+        object.worldY = row * Config.TILE_SIZE;
+        world.addObject(object);
     }
 }
@@ -0,0 +1,55 @@
+package utils;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Sub-região retangular de uma página do {@link SpriteAtlas}.
+ * As dimensões já estão na escala da tela, então o desenho é uma cópia 1:1,
+ * sem passar pelo caminho de redimensionamento do Java2D.
+ */
+public class AtlasRegion {
+
+    private final BufferedImage page; // Página do atlas que contém a região
+    private final int x, y; // Posição da região dentro da página
+    private final int width, height; // Dimensões (já escaladas) da região
+
+    AtlasRegion(BufferedImage page, int x, int y, int width, int height) {
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Desenha a região em tamanho natural na posição informada.
+     *
+     * @param g2 Contexto gráfico de destino
+     * @param dx Posição X na tela
+     * @param dy Posição Y na tela
+     */
+    public void draw(Graphics2D g2, int dx, int dy) {
+        g2.drawImage(page, dx, dy, dx + width, dy + height, x, y, x + width, y + height, null);
+    }
+
+    public BufferedImage getPage() {
+        return page;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
@@ -2,19 +2,30 @@ package utils;
 
 import entity.Entity;
 import main.Config;
-import main.GamePanel;
+import main.GameWorld;
+import objects.SuperObject;
 
 /**
  * Responsável por verificar colisões entre entidades e tiles do mapa.
  * Utiliza as propriedades de colisão dos tiles para determinar se uma entidade
  * pode ou não se mover para determinada direção.
+ *
+ * As verificações trabalham sobre coordenadas primitivas de caixas alinhadas
+ * aos eixos e não alteram nenhum estado compartilhado (nem as áreas sólidas
+ * das entidades e objetos): podem ser executadas em paralelo, desde que cada
+ * thread use seu próprio {@link CollisionResult} e que o mundo não seja
+ * alterado ao mesmo tempo. Os métodos que recebem uma {@link Entity} são
+ * atalhos para a thread da simulação.
  */
 public class CollisionChecker {
 
-    GamePanel gp;
+    GameWorld world;
 
-    public CollisionChecker(GamePanel gp) {
-        this.gp = gp;
+    // Resultado reutilizado pelos atalhos baseados em entidade (thread da simulação)
+    private final CollisionResult entityResult = new CollisionResult();
+
+    public CollisionChecker(GameWorld world) {
+        this.world = world;
     }
 
     /**
@@ -25,39 +36,58 @@ public class CollisionChecker {
      * @param entity A entidade em movimento (jogador, NPC, etc.)
      */
     public void checkTile(Entity entity) {
-        // Calcula a posição absoluta dos limites da hitbox da entidade no mundo
-        int entityLeftWorldX = entity.worldX + entity.solidArea.x;
-        int entityRightWorldX = entity.worldX + entity.solidArea.x + entity.solidArea.width;
-        int entityTopWorldY = entity.worldY + entity.solidArea.y;
-        int entityBottomWorldY = entity.worldY + entity.solidArea.y + entity.solidArea.height;
+        if (isTileBlocked(entity.worldX + entity.solidArea.x, entity.worldY + entity.solidArea.y,
+                entity.solidArea.width, entity.solidArea.height, entity.direction, entity.speed)) {
+            entity.collisionOn = true;
+        }
+    }
+
+    /**
+     * Verifica se uma caixa, ao se mover na direção e velocidade informadas,
+     * alcança algum tile sólido.
+     *
+     * @param boxX      Borda esquerda da caixa, em pixels do mundo
+     * @param boxY      Borda superior da caixa, em pixels do mundo
+     * @param boxWidth  Largura da caixa
+     * @param boxHeight Altura da caixa
+     * @param direction Direção do movimento
+     * @param speed     Deslocamento do movimento, em pixels
+     * @return true se algum tile na borda de avanço da caixa for sólido
+     */
+    public boolean isTileBlocked(int boxX, int boxY, int boxWidth, int boxHeight, Direction direction, int speed) {
+        // Calcula a posição absoluta dos limites da hitbox no mundo
+        int leftWorldX = boxX;
+        int rightWorldX = boxX + boxWidth;
+        int topWorldY = boxY;
+        int bottomWorldY = boxY + boxHeight;
 
         // Converte as coordenadas do mundo para índices de coluna e linha do mapa
-        int entityLeftCol = entityLeftWorldX / Config.TILE_SIZE;
-        int entityRightCol = entityRightWorldX / Config.TILE_SIZE;
-        int entityTopRow = entityTopWorldY / Config.TILE_SIZE;
-        int entityBottomRow = entityBottomWorldY / Config.TILE_SIZE;
+        int leftCol = leftWorldX / Config.TILE_SIZE;
+        int rightCol = rightWorldX / Config.TILE_SIZE;
+        int topRow = topWorldY / Config.TILE_SIZE;
+        int bottomRow = bottomWorldY / Config.TILE_SIZE;
 
         // Detecta possíveis colisões com base na direção de movimento
         // Para cada direção, calcula-se a próxima linha ou coluna afetada
         // Verifica-se então se os dois tiles na borda da hitbox possuem colisão
-        switch (entity.direction) {
+        return switch (direction) {
             case Direction.UP -> {
-                entityTopRow = (entityTopWorldY - entity.speed) / Config.TILE_SIZE;
-                checkTileCollision(gp, entity, entityLeftCol, entityTopRow, entityRightCol, entityTopRow);
+                topRow = (topWorldY - speed) / Config.TILE_SIZE;
+                yield isSolid(leftCol, topRow) || isSolid(rightCol, topRow);
             }
             case Direction.DOWN -> {
-                entityBottomRow = (entityBottomWorldY + entity.speed) / Config.TILE_SIZE;
-                checkTileCollision(gp, entity, entityLeftCol, entityBottomRow, entityRightCol, entityBottomRow);
+                bottomRow = (bottomWorldY + speed) / Config.TILE_SIZE;
+                yield isSolid(leftCol, bottomRow) || isSolid(rightCol, bottomRow);
             }
             case Direction.LEFT -> {
-                entityLeftCol = (entityLeftWorldX - entity.speed) / Config.TILE_SIZE;
-                checkTileCollision(gp, entity, entityLeftCol, entityTopRow, entityLeftCol, entityBottomRow);
+                leftCol = (leftWorldX - speed) / Config.TILE_SIZE;
+                yield isSolid(leftCol, topRow) || isSolid(leftCol, bottomRow);
             }
             case Direction.RIGHT -> {
-                entityRightCol = (entityRightWorldX + entity.speed) / Config.TILE_SIZE;
-                checkTileCollision(gp, entity, entityRightCol, entityTopRow, entityRightCol, entityBottomRow);
+                rightCol = (rightWorldX + speed) / Config.TILE_SIZE;
+                yield isSolid(rightCol, topRow) || isSolid(rightCol, bottomRow);
             }
-        }
+        };
     }
 
     /**
@@ -65,76 +95,97 @@ public class CollisionChecker {
      * Utiliza a direção e velocidade da entidade para prever colisões.
      *
      * @param entity A entidade em movimento (jogador ou NPC).
-     * @param player Define se a entidade é o jogador (usado para retorno de
-     *               índice).
-     * @return Índice do objeto colidido (se for o jogador); caso contrário, 999.
+     * @param player Define se a entidade é o jogador (usado para retorno do
+     *               handle).
+     * @return Handle do objeto colidido (se for o jogador); caso contrário,
+     *         {@link Registry#NO_HANDLE}.
      */
     public int checkObject(Entity entity, boolean player) {
-        int index = 999;
-
-        for (int i = 0; i < gp.obj.length; i++) {
-            if (gp.obj[i] != null) {
-
-                // Calcula posição absoluta das hitboxes
-                entity.solidArea.x = entity.worldX + entity.solidArea.x;
-                entity.solidArea.y = entity.worldY + entity.solidArea.y;
-                gp.obj[i].solidArea.x = gp.obj[i].worldX + gp.obj[i].solidArea.x;
-                gp.obj[i].solidArea.y = gp.obj[i].worldY + gp.obj[i].solidArea.y;
-
-                // Define deslocamento baseado na direção da entidade
-                int deltaX = 0;
-                int deltaY = 0;
-                switch (entity.direction) {
-                    case Direction.UP -> deltaY = -entity.speed;
-                    case Direction.DOWN -> deltaY = entity.speed;
-                    case Direction.LEFT -> deltaX = -entity.speed;
-                    case Direction.RIGHT -> deltaX = entity.speed;
-                }
+        checkObjects(entity.worldX + entity.solidArea.x, entity.worldY + entity.solidArea.y,
+                entity.solidArea.width, entity.solidArea.height, entity.direction, entity.speed, entityResult);
 
-                // Aplica deslocamento simulado para prever colisão
-                entity.solidArea.x += deltaX;
-                entity.solidArea.y += deltaY;
-
-                // Verifica interseção com o objeto
-                if (entity.solidArea.intersects(gp.obj[i].solidArea)) {
-                    if (gp.obj[i].collision) {
-                        entity.collisionOn = true;
-                    }
-                    if (player) {
-                        index = i;
-                    }
-                }
+        if (entityResult.blocked) {
+            entity.collisionOn = true;
+        }
+        return player ? entityResult.hitHandle : Registry.NO_HANDLE;
+    }
 
-                // Restaura posições originais das hitboxes
-                entity.resetSolidArea();
-                gp.obj[i].solidArea.x = gp.obj[i].solidAreaDefaultX;
-                gp.obj[i].solidArea.y = gp.obj[i].solidAreaDefaultY;
-            }
+    /**
+     * Verifica quais objetos uma caixa atinge ao se mover na direção e
+     * velocidade informadas.
+     *
+     * @param boxX      Borda esquerda da caixa, em pixels do mundo
+     * @param boxY      Borda superior da caixa, em pixels do mundo
+     * @param boxWidth  Largura da caixa
+     * @param boxHeight Altura da caixa
+     * @param direction Direção do movimento
+     * @param speed     Deslocamento do movimento, em pixels
+     * @param result    Destino do resultado (reiniciado antes da verificação)
+     */
+    public void checkObjects(int boxX, int boxY, int boxWidth, int boxHeight, Direction direction, int speed,
+            CollisionResult result) {
+        result.reset();
+
+        // Define deslocamento baseado na direção do movimento
+        int deltaX = 0;
+        int deltaY = 0;
+        switch (direction) {
+            case Direction.UP -> deltaY = -speed;
+            case Direction.DOWN -> deltaY = speed;
+            case Direction.LEFT -> deltaX = -speed;
+            case Direction.RIGHT -> deltaX = speed;
         }
+        int movedX = boxX + deltaX;
+        int movedY = boxY + deltaY;
+
+        // Consulta apenas os objetos nas células tocadas pela caixa deslocada
+        IntList candidates = result.candidates;
+        world.queryObjects(movedX, movedY, boxWidth, boxHeight, candidates);
+        candidates.sort(); // Ordem de slot: o último objeto atingido prevalece
+
+        for (int c = 0; c < candidates.size(); c++) {
+            int handle = candidates.get(c);
+            SuperObject object = world.getObject(handle);
+            if (object == null) {
+                continue;
+            }
 
-        return index;
+            // Área sólida do objeto em coordenadas do mundo
+            int objectX = object.worldX + object.solidArea.x;
+            int objectY = object.worldY + object.solidArea.y;
+
+            if (intersects(movedX, movedY, boxWidth, boxHeight,
+                    objectX, objectY, object.solidArea.width, object.solidArea.height)) {
+                if (object.collision) {
+                    result.blocked = true;
+                }
+                result.hitHandle = handle;
+            }
+        }
     }
 
     /**
-     * Verifica se os tiles nas posições fornecidas possuem colisão.
-     * Caso positivo, define a flag `entity.collisionOn = true`.
+     * Interseção entre duas caixas alinhadas aos eixos, com a mesma semântica de
+     * {@link java.awt.Rectangle#intersects}: caixas vazias não interceptam nada
+     * e caixas que apenas se tocam na borda não se interceptam.
      *
-     * @param gp     Instância do painel do jogo, usada para acessar o gerenciador
-     *               de tiles.
-     * @param entity Entidade em análise, cuja flag de colisão pode ser ativada.
-     * @param col1   Primeira coluna a ser verificada.
-     * @param row1   Primeira linha correspondente.
-     * @param col2   Segunda coluna a ser verificada.
-     * @param row2   Segunda linha correspondente.
+     * @return true se as caixas se sobrepõem
      */
-    private void checkTileCollision(GamePanel gp, Entity entity, int col1, int row1, int col2, int row2) {
-        // Obtém os índices dos tiles nas posições especificadas
-        int tileNum1 = gp.getTileManager().getTileNumber(col1, row1);
-        int tileNum2 = gp.getTileManager().getTileNumber(col2, row2);
-
-        // Ativa a colisão se qualquer um dos tiles for sólido
-        if (gp.getTileManager().hasCollision(tileNum1) || gp.getTileManager().hasCollision(tileNum2)) {
-            entity.collisionOn = true;
+    public static boolean intersects(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) {
+            return false;
         }
+        return bx < ax + aw && ax < bx + bw && by < ay + ah && ay < by + bh;
+    }
+
+    /**
+     * Verifica se o tile na posição informada possui colisão.
+     *
+     * @param col Coluna no mapa
+     * @param row Linha no mapa
+     * @return true se o tile for sólido
+     */
+    private boolean isSolid(int col, int row) {
+        return world.getTileManager().isSolid(col, row);
     }
 }
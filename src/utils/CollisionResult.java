@@ -0,0 +1,29 @@
+package utils;
+
+/**
+ * Resultado reutilizável de uma verificação de colisão com objetos.
+ *
+ * Cada thread que verifica colisões deve possuir sua própria instância: ela
+ * também guarda o buffer de candidatos usado na consulta ao índice espacial,
+ * o que mantém o {@link CollisionChecker} livre de estado compartilhado.
+ */
+public class CollisionResult {
+
+    /** true se algum objeto sólido bloqueia o movimento. */
+    public boolean blocked;
+
+    /** Handle do último objeto (em ordem de slot) atingido, ou {@link Registry#NO_HANDLE}. */
+    public int hitHandle = Registry.NO_HANDLE;
+
+    // Buffer de candidatos da consulta ao índice espacial
+    final IntList candidates = new IntList();
+
+    /**
+     * Prepara o resultado para uma nova verificação.
+     */
+    public void reset() {
+        blocked = false;
+        hitHandle = Registry.NO_HANDLE;
+        candidates.clear();
+    }
+}
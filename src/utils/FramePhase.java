@@ -0,0 +1,21 @@
+package utils;
+
+/**
+ * Fases de um frame medidas pelo {@link FrameProfiler}.
+ */
+public enum FramePhase {
+    /** Intervalo entre dois frames consecutivos (revela travadas) */
+    FRAME,
+    /** Atualização da simulação (GameWorld + contadores da UI) */
+    UPDATE,
+    /** Desenho da camada de tiles */
+    TILES,
+    /** Desenho dos objetos do mapa */
+    OBJECTS,
+    /** Desenho do jogador */
+    PLAYER,
+    /** Desenho da HUD e mensagens */
+    UI,
+    /** Apresentação do frame na tela (apenas no modo de renderização ativo) */
+    PRESENT
+}
@@ -0,0 +1,384 @@
+package utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.NotificationEmitter;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import main.Config;
+
+/**
+ * Instrumentação dos frames do jogo.
+ *
+ * Registra, em nanossegundos, a duração de cada {@link FramePhase} em
+ * histogramas sem bloqueios ({@link LatencyHistogram}). A cada intervalo
+ * (`profiler.intervalSeconds`) os histogramas são fechados em um resumo com
+ * p50/p99/máximo, que fica disponível para o overlay na tela, via JMX
+ * ({@link FrameProfilerMBean}) e, opcionalmente, é gravado em CSV ou JSON.
+ *
+ * Pausas do coletor de lixo são recebidas por notificações JMX e associadas
+ * aos frames em que ocorreram, permitindo distinguir travadas causadas por GC
+ * das causadas por uma fase específica do desenho.
+ */
+public class FrameProfiler implements FrameProfilerMBean {
+
+    private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+
+    /**
+     * Resumo imutável de um intervalo de medição encerrado.
+     *
+     * @param phases           histogramas de cada fase no intervalo
+     * @param frames           quantidade de frames
+     * @param seconds          duração do intervalo
+     * @param framesWithGc     frames que coincidiram com pausas de GC
+     * @param slowFrames       frames acima de 1,5x o tempo alvo
+     * @param slowFramesWithGc frames lentos que coincidiram com GC
+     * @param gcPauseMillis    tempo total de pausas de GC
+     */
+    public record Summary(Map<FramePhase, LatencyHistogram> phases, long frames, double seconds,
+            long framesWithGc, long slowFrames, long slowFramesWithGc, long gcPauseMillis) {
+
+        /** @return frames por segundo no intervalo */
+        public double fps() {
+            return seconds > 0 ? frames / seconds : 0;
+        }
+    }
+
+    private final Map<FramePhase, LatencyHistogram> histograms = new EnumMap<>(FramePhase.class);
+
+    private volatile boolean enabled;
+
+    // Contadores do intervalo corrente
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong framesWithGc = new AtomicLong();
+    private final AtomicLong slowFrames = new AtomicLong();
+    private final AtomicLong slowFramesWithGc = new AtomicLong();
+    private final AtomicLong gcPauseMillis = new AtomicLong();
+
+    // Total de pausas de GC notificadas desde o início (atualizado pela thread do JMX)
+    private final AtomicLong gcEvents = new AtomicLong();
+
+    // Estado usado apenas pela thread que encerra os frames
+    private long lastFrameEnd;
+    private long lastGcEvents;
+    private final long slowFrameNanos;
+
+    private long intervalStart = System.nanoTime();
+    private volatile Summary latest;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param enabled   estado inicial da coleta
+     * @param targetFps taxa de frames alvo, usada para classificar frames lentos
+     */
+    public FrameProfiler(boolean enabled, int targetFps) {
+        this.enabled = enabled;
+        this.slowFrameNanos = 1_500_000_000L / targetFps;
+        for (FramePhase phase : FramePhase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+        this.latest = new Summary(new EnumMap<>(histograms), 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Inicia o fechamento periódico dos intervalos, a escuta de pausas de GC e,
+     * se configurado, o registro no servidor JMX da plataforma.
+     */
+    public void start() {
+        listenToGarbageCollections();
+        if (Config.PROFILER_JMX) {
+            registerMBean();
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "frame-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Config.PROFILER_INTERVAL_SECONDS;
+        scheduler.scheduleAtFixedRate(this::closeInterval, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Marca o início de um trecho medido.
+     *
+     * @return instante atual, ou 0 se a coleta estiver desativada
+     */
+    public long now() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Registra a duração de uma fase iniciada em {@code start}.
+     * Retorna o instante final, que pode ser usado como início da fase seguinte.
+     *
+     * @param phase fase medida
+     * @param start valor retornado por {@link #now()} ou por um record anterior
+     * @return instante atual, ou 0 se a coleta estiver desativada
+     */
+    public long record(FramePhase phase, long start) {
+        if (!enabled || start == 0) {
+            return 0;
+        }
+        long end = System.nanoTime();
+        histograms.get(phase).record(end - start);
+        return end;
+    }
+
+    /**
+     * Registra uma duração já medida (ex: apresentação do frame).
+     *
+     * @param phase fase medida
+     * @param nanos duração em nanossegundos
+     */
+    public void recordDuration(FramePhase phase, long nanos) {
+        if (enabled) {
+            histograms.get(phase).record(nanos);
+        }
+    }
+
+    /**
+     * Deve ser chamado uma vez ao final de cada frame, pela thread que conduz o
+     * loop. Mede o intervalo desde o frame anterior e o associa às pausas de GC
+     * ocorridas nesse período.
+     */
+    public void frameCompleted() {
+        if (!enabled) {
+            lastFrameEnd = 0;
+            return;
+        }
+
+        long end = System.nanoTime();
+        long gcSeen = gcEvents.get();
+
+        if (lastFrameEnd != 0) {
+            long frameNanos = end - lastFrameEnd;
+            boolean gc = gcSeen != lastGcEvents;
+
+            histograms.get(FramePhase.FRAME).record(frameNanos);
+            frames.incrementAndGet();
+            if (gc) {
+                framesWithGc.incrementAndGet();
+            }
+            if (frameNanos > slowFrameNanos) {
+                slowFrames.incrementAndGet();
+                if (gc) {
+                    slowFramesWithGc.incrementAndGet();
+                }
+            }
+        }
+
+        lastFrameEnd = end;
+        lastGcEvents = gcSeen;
+    }
+
+    /**
+     * @return resumo do último intervalo encerrado
+     */
+    public Summary getLatest() {
+        return latest;
+    }
+
+    /**
+     * Encerra o intervalo atual: copia e zera os histogramas, publica o resumo e
+     * grava o arquivo de saída, se configurado.
+     */
+    private void closeInterval() {
+        long now = System.nanoTime();
+        Map<FramePhase, LatencyHistogram> closed = new EnumMap<>(FramePhase.class);
+        for (Map.Entry<FramePhase, LatencyHistogram> entry : histograms.entrySet()) {
+            closed.put(entry.getKey(), entry.getValue().snapshotAndReset());
+        }
+
+        Summary summary = new Summary(closed, frames.getAndSet(0), (now - intervalStart) / 1_000_000_000.0,
+                framesWithGc.getAndSet(0), slowFrames.getAndSet(0), slowFramesWithGc.getAndSet(0),
+                gcPauseMillis.getAndSet(0));
+        intervalStart = now;
+        latest = summary;
+
+        if (enabled && Config.PROFILER_DUMP_FORMAT != ProfilerDumpFormat.NONE) {
+            try {
+                dump(summary);
+            } catch (IOException e) {
+                System.err.println("Erro ao gravar métricas de frame: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Acrescenta o resumo ao arquivo de saída: uma linha CSV (com cabeçalho na
+     * criação do arquivo) ou um objeto JSON por linha.
+     */
+    private void dump(Summary summary) throws IOException {
+        Path path = Path.of(Config.PROFILER_DUMP_PATH);
+        boolean csv = Config.PROFILER_DUMP_FORMAT == ProfilerDumpFormat.CSV;
+        boolean created = Files.notExists(path);
+        StringBuilder sb = new StringBuilder();
+
+        if (csv) {
+            if (created) {
+                sb.append("timestamp,fps,frames,framesWithGc,slowFrames,slowFramesWithGc,gcPauseMillis");
+                for (FramePhase phase : FramePhase.values()) {
+                    String name = phase.name().toLowerCase();
+                    sb.append(',').append(name).append("P50Ms,").append(name).append("P99Ms,")
+                            .append(name).append("MaxMs");
+                }
+                sb.append('\n');
+            }
+            sb.append(Instant.now()).append(',').append(format(summary.fps())).append(',')
+                    .append(summary.frames()).append(',').append(summary.framesWithGc()).append(',')
+                    .append(summary.slowFrames()).append(',').append(summary.slowFramesWithGc()).append(',')
+                    .append(summary.gcPauseMillis());
+            for (FramePhase phase : FramePhase.values()) {
+                LatencyHistogram h = summary.phases().get(phase);
+                sb.append(',').append(millis(h.getPercentile(50))).append(',')
+                        .append(millis(h.getPercentile(99))).append(',').append(millis(h.getMax()));
+            }
+        } else {
+            sb.append("{\"timestamp\":\"").append(Instant.now()).append("\",\"fps\":").append(format(summary.fps()))
+                    .append(",\"frames\":").append(summary.frames())
+                    .append(",\"framesWithGc\":").append(summary.framesWithGc())
+                    .append(",\"slowFrames\":").append(summary.slowFrames())
+                    .append(",\"slowFramesWithGc\":").append(summary.slowFramesWithGc())
+                    .append(",\"gcPauseMillis\":").append(summary.gcPauseMillis())
+                    .append(",\"phases\":{");
+            FramePhase[] phases = FramePhase.values();
+            for (int i = 0; i < phases.length; i++) {
+                LatencyHistogram h = summary.phases().get(phases[i]);
+                sb.append(i == 0 ? "" : ",").append('"').append(phases[i].name().toLowerCase())
+                        .append("\":{\"count\":").append(h.getCount())
+                        .append(",\"p50Ms\":").append(millis(h.getPercentile(50)))
+                        .append(",\"p99Ms\":").append(millis(h.getPercentile(99)))
+                        .append(",\"maxMs\":").append(millis(h.getMax())).append('}');
+            }
+            sb.append("}}");
+        }
+        sb.append('\n');
+
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(sb.toString());
+        }
+    }
+
+    /**
+     * Assina as notificações de GC de cada coletor, acumulando a quantidade e a
+     * duração das pausas.
+     */
+    private void listenToGarbageCollections() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener((notification, handback) -> {
+                    if (!GC_NOTIFICATION.equals(notification.getType())) {
+                        return;
+                    }
+                    gcEvents.incrementAndGet();
+                    if (notification.getUserData() instanceof CompositeData data
+                            && data.get("gcInfo") instanceof CompositeData info
+                            && info.get("duration") instanceof Long duration) {
+                        gcPauseMillis.addAndGet(duration);
+                    }
+                }, null, null);
+            }
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("azeroth:type=FrameProfiler");
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (Exception e) {
+            System.err.println("Erro ao registrar o FrameProfiler no JMX: " + e.getMessage());
+        }
+    }
+
+    private static String millis(long nanos) {
+        return format(nanos / 1_000_000.0);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    // ==========================
+    // FrameProfilerMBean
+    // ==========================
+
+    @Override
+    public double getFps() {
+        return latest.fps();
+    }
+
+    @Override
+    public long getFrameCount() {
+        return latest.frames();
+    }
+
+    @Override
+    public long getFramesWithGc() {
+        return latest.framesWithGc();
+    }
+
+    @Override
+    public long getSlowFrames() {
+        return latest.slowFrames();
+    }
+
+    @Override
+    public long getSlowFramesWithGc() {
+        return latest.slowFramesWithGc();
+    }
+
+    @Override
+    public long getGcPauseMillis() {
+        return latest.gcPauseMillis();
+    }
+
+    @Override
+    public String[] getPhaseSummaries() {
+        FramePhase[] phases = FramePhase.values();
+        String[] lines = new String[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            LatencyHistogram h = latest.phases().get(phases[i]);
+            lines[i] = String.format(Locale.ROOT, "%s p50=%.3fms p99=%.3fms max=%.3fms", phases[i],
+                    h.getPercentile(50) / 1e6, h.getPercentile(99) / 1e6, h.getMax() / 1e6);
+        }
+        return lines;
+    }
+
+    @Override
+    public double getPercentileMillis(String phase, double percentile) {
+        return latest.phases().get(FramePhase.valueOf(phase.toUpperCase())).getPercentile(percentile) / 1e6;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+/**
+ * Interface de gerenciamento (JMX) do {@link FrameProfiler}.
+ * Os valores refletem o último intervalo de medição encerrado.
+ * Registrada como {@code azeroth:type=FrameProfiler}.
+ */
+public interface FrameProfilerMBean {
+
+    /** @return frames por segundo no último intervalo */
+    double getFps();
+
+    /** @return quantidade de frames no último intervalo */
+    long getFrameCount();
+
+    /** @return frames que coincidiram com pausas de GC no último intervalo */
+    long getFramesWithGc();
+
+    /** @return frames lentos (acima de 1,5x o tempo alvo) no último intervalo */
+    long getSlowFrames();
+
+    /** @return frames lentos que coincidiram com pausas de GC no último intervalo */
+    long getSlowFramesWithGc();
+
+    /** @return tempo total de pausas de GC no último intervalo, em milissegundos */
+    long getGcPauseMillis();
+
+    /** @return resumo textual (p50/p99/max em ms) de cada fase do frame */
+    String[] getPhaseSummaries();
+
+    /**
+     * @param phase      nome de uma {@link FramePhase} (ex: "TILES")
+     * @param percentile percentil entre 0 e 100
+     * @return valor do percentil da fase no último intervalo, em milissegundos
+     */
+    double getPercentileMillis(String phase, double percentile);
+
+    /** @return true se a coleta de tempos está ativa */
+    boolean isEnabled();
+
+    /** @param enabled ativa ou desativa a coleta de tempos */
+    void setEnabled(boolean enabled);
+}
@@ -0,0 +1,149 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Alocador de handles estáveis para armazenamentos densos, compartilhado pelo
+ * {@link Registry} e pelo {@code entity.EntityStore}.
+ *
+ * Quem usa o alocador guarda seus dados em vetores densos, com os elementos
+ * vivos compactados nas posições {@code 0..size()-1}. O alocador mantém apenas
+ * a correspondência entre handles e posições densas: ao liberar uma posição, o
+ * último elemento denso passa a ocupá-la, e quem chama move seus próprios
+ * dados da mesma forma.
+ *
+ * Cada handle combina uma posição (slot) estável, reaproveitada por meio de
+ * uma lista livre, com a geração do slot, incrementada a cada liberação. Assim,
+ * um handle guardado após a remoção de seu elemento deixa de ser válido, mesmo
+ * que o slot já tenha sido reaproveitado. Como o slot ocupa os bits mais altos,
+ * ordenar handles equivale a ordená-los por slot.
+ */
+public final class HandleAllocator {
+
+    /** Handle que não corresponde a nenhum elemento. */
+    public static final int NO_HANDLE = -1;
+
+    private static final int GENERATION_BITS = 10;
+    private static final int GENERATION_MASK = (1 << GENERATION_BITS) - 1;
+    private static final int MAX_SLOTS = 1 << (31 - GENERATION_BITS);
+
+    private final String description; // Usada na mensagem de limite atingido
+
+    private int[] denseSlot = new int[16]; // Slot de cada posição densa
+    private int size = 0;
+
+    // Dados por slot
+    private int[] slotDense = new int[16]; // Posição densa do slot (-1 = livre)
+    private int[] slotGeneration = new int[16];
+    private int slotCount = 0; // Slots já usados alguma vez
+
+    private final IntList freeSlots = new IntList();
+
+    /**
+     * @param description Nome dos elementos, para mensagens de erro (ex:
+     *                    "entidades")
+     */
+    public HandleAllocator(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Aloca um handle para um novo elemento, na posição densa {@link #size()}.
+     *
+     * @return handle do elemento
+     * @throws IllegalStateException se o limite de slots for atingido
+     */
+    public int allocate() {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.removeLast();
+        } else {
+            if (slotCount == MAX_SLOTS) {
+                throw new IllegalStateException("Limite de " + description + " atingido: " + MAX_SLOTS);
+            }
+            if (slotCount == slotDense.length) {
+                slotDense = Arrays.copyOf(slotDense, slotCount * 2);
+                slotGeneration = Arrays.copyOf(slotGeneration, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+
+        if (size == denseSlot.length) {
+            denseSlot = Arrays.copyOf(denseSlot, size * 2);
+        }
+        denseSlot[size] = slot;
+        slotDense[slot] = size;
+        size++;
+        return handleOf(slot);
+    }
+
+    /**
+     * Libera o elemento da posição densa informada, invalidando seu handle. O
+     * último elemento denso passa a ocupar essa posição.
+     *
+     * @param index Posição densa, de 0 a {@code size() - 1}
+     */
+    public void freeAt(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int slot = denseSlot[index];
+
+        int last = --size;
+        denseSlot[index] = denseSlot[last];
+        slotDense[denseSlot[index]] = index;
+
+        slotDense[slot] = -1;
+        slotGeneration[slot] = (slotGeneration[slot] + 1) & GENERATION_MASK;
+        freeSlots.add(slot);
+    }
+
+    /**
+     * @param handle Handle do elemento
+     * @return posição densa do elemento, ou -1 se o handle não for mais válido
+     */
+    public int indexOf(int handle) {
+        if (handle < 0) {
+            return -1;
+        }
+        int slot = handle >>> GENERATION_BITS;
+        if (slot >= slotCount || slotDense[slot] < 0 || slotGeneration[slot] != (handle & GENERATION_MASK)) {
+            return -1;
+        }
+        return slotDense[slot];
+    }
+
+    /**
+     * @return quantidade de elementos vivos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index Posição densa, de 0 a {@code size() - 1}
+     * @return handle do elemento naquela posição
+     */
+    public int handleAt(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return handleOf(denseSlot[index]);
+    }
+
+    /**
+     * @param slot Slot ocupado
+     * @return handle atual do elemento no slot informado
+     */
+    public int handleOf(int slot) {
+        return (slot << GENERATION_BITS) | slotGeneration[slot];
+    }
+
+    /**
+     * @param handle Handle do elemento
+     * @return slot do handle
+     */
+    public static int slotOf(int handle) {
+        return handle >>> GENERATION_BITS;
+    }
+}
@@ -0,0 +1,77 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Lista crescente de inteiros primitivos, sem boxing.
+ * Pensada para ser reutilizada como buffer de resultados entre consultas
+ * ({@link #clear()} não libera a memória alocada).
+ */
+public class IntList {
+
+    private int[] values;
+    private int size = 0;
+
+    public IntList() {
+        this(16);
+    }
+
+    /**
+     * @param capacity Capacidade inicial
+     */
+    public IntList(int capacity) {
+        this.values = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return values[index];
+    }
+
+    public void set(int index, int value) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        values[index] = value;
+    }
+
+    /**
+     * Remove e retorna o último elemento.
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Lista vazia");
+        }
+        return values[--size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Ordena os elementos em ordem crescente.
+     */
+    public void sort() {
+        if (size > 1) {
+            Arrays.sort(values, 0, size);
+        }
+    }
+}
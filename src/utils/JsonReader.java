@@ -0,0 +1,441 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Leitor de JSON em fluxo (pull parser), usado pelos carregadores de recursos.
+ *
+ * O documento é percorrido uma única vez, caractere a caractere, e o chamador
+ * consome os tokens na ordem em que aparecem ({@link #beginObject()},
+ * {@link #nextName()}, {@link #nextString()}, ...). Não há expressões
+ * regulares nem divisão em linhas: o layout de espaços e quebras de linha é
+ * irrelevante, e apenas os valores pedidos viram objetos (números e nomes
+ * numéricos são lidos diretamente dos caracteres).
+ *
+ * Erros de sintaxe, e tokens diferentes do esperado, geram uma
+ * {@link IOException} com a linha e a coluna do problema.
+ */
+public class JsonReader {
+
+    /** Tipos de token. */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    // Contextos da pilha de aninhamento (definem onde são esperadas vírgulas e dois-pontos)
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3; // Nome lido, valor ainda não
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final char[] buf;
+    private final int limit;
+    private int pos = 0;
+
+    private int[] stack = new int[16];
+    private int depth = 0;
+
+    private Token peeked; // Próximo token já identificado e ainda não consumido
+
+    /**
+     * @param utf8 Documento JSON codificado em UTF-8
+     */
+    public JsonReader(byte[] utf8) {
+        CharBuffer chars = StandardCharsets.UTF_8.decode(ByteBuffer.wrap(utf8));
+        this.buf = chars.array();
+        this.limit = chars.limit();
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return tipo do próximo token, sem consumi-lo
+     */
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+
+        int c;
+        switch (stack[depth - 1]) {
+            case EMPTY_ARRAY -> {
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+            }
+            case NONEMPTY_ARRAY -> {
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("esperado ',' ou ']'");
+                }
+                c = nextNonWhitespace();
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                boolean empty = stack[depth - 1] == EMPTY_OBJECT;
+                stack[depth - 1] = DANGLING_NAME;
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (!empty) {
+                    if (c != ',') {
+                        throw syntaxError("esperado ',' ou '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("esperado nome entre aspas");
+                }
+                return peeked = Token.NAME;
+            }
+            case DANGLING_NAME -> {
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("esperado ':'");
+                }
+                c = nextNonWhitespace();
+            }
+            case EMPTY_DOCUMENT -> {
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                c = nextNonWhitespace();
+            }
+            default -> {
+                // Documento já lido: só resta o fim
+                c = nextNonWhitespace();
+                if (c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                throw syntaxError("conteúdo após o fim do documento");
+            }
+        }
+
+        // Início de um valor
+        switch (c) {
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case '"':
+                return peeked = Token.STRING;
+            case 't':
+            case 'f':
+                pos--;
+                return peeked = Token.BOOLEAN;
+            case 'n':
+                pos--;
+                return peeked = Token.NULL;
+            case -1:
+                throw syntaxError("fim inesperado do documento");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos--;
+                    return peeked = Token.NUMBER;
+                }
+                throw syntaxError("caractere inesperado '" + (char) c + "'");
+        }
+    }
+
+    /**
+     * @return true se o objeto ou vetor atual ainda possui elementos
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * Verifica que o documento terminou, sem conteúdo extra após o valor raiz.
+     */
+    public void endDocument() throws IOException {
+        expect(Token.END_DOCUMENT);
+    }
+
+    /**
+     * @return nome da próxima propriedade do objeto atual
+     */
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return readString();
+    }
+
+    /**
+     * Lê o nome da próxima propriedade como um inteiro não negativo (ex: os
+     * números dos tiles), diretamente dos caracteres.
+     *
+     * @return valor numérico do nome
+     */
+    public int nextIntName() throws IOException {
+        expect(Token.NAME);
+        int start = pos;
+        long value = 0;
+        while (pos < limit && buf[pos] >= '0' && buf[pos] <= '9') {
+            value = value * 10 + (buf[pos++] - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw syntaxError("número muito grande");
+            }
+        }
+        if (pos == start || pos >= limit || buf[pos] != '"') {
+            throw syntaxError("esperado nome numérico");
+        }
+        pos++; // Aspas finais
+        return (int) value;
+    }
+
+    public String nextString() throws IOException {
+        expect(Token.STRING);
+        return readString();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        if (consumeLiteral("true")) {
+            return true;
+        }
+        if (consumeLiteral("false")) {
+            return false;
+        }
+        throw syntaxError("esperado true ou false");
+    }
+
+    /**
+     * @return próximo valor, que deve ser um número inteiro
+     */
+    public int nextInt() throws IOException {
+        expect(Token.NUMBER);
+        boolean negative = buf[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        int start = pos;
+        long value = 0;
+        while (pos < limit && buf[pos] >= '0' && buf[pos] <= '9') {
+            value = value * 10 + (buf[pos++] - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw syntaxError("número muito grande");
+            }
+        }
+        if (pos == start || (pos < limit && (buf[pos] == '.' || buf[pos] == 'e' || buf[pos] == 'E'))) {
+            throw syntaxError("esperado número inteiro");
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw syntaxError("número muito grande");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Descarta o próximo valor, inclusive objetos e vetores aninhados (ex:
+     * propriedades desconhecidas).
+     */
+    public void skipValue() throws IOException {
+        int level = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT -> {
+                    beginObject();
+                    level++;
+                }
+                case BEGIN_ARRAY -> {
+                    beginArray();
+                    level++;
+                }
+                case END_OBJECT -> {
+                    endObject();
+                    level--;
+                }
+                case END_ARRAY -> {
+                    endArray();
+                    level--;
+                }
+                case NAME, STRING -> {
+                    peeked = null;
+                    skipString();
+                }
+                case BOOLEAN, NULL, NUMBER -> {
+                    peeked = null;
+                    skipLiteral();
+                }
+                case END_DOCUMENT -> throw syntaxError("fim inesperado do documento");
+            }
+        } while (level > 0);
+    }
+
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw syntaxError("esperado " + expected + ", encontrado " + token);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    /**
+     * @return próximo caractere que não seja espaço em branco (já consumido), ou
+     *         -1 no fim do documento
+     */
+    private int nextNonWhitespace() {
+        while (pos < limit) {
+            char c = buf[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lê o restante de uma string (a aspa inicial já foi consumida). Sem
+     * escapes, o resultado é criado direto do buffer, sem cópias intermediárias.
+     */
+    private String readString() throws IOException {
+        int start = pos;
+        while (pos < limit) {
+            char c = buf[pos];
+            if (c == '"') {
+                pos++;
+                return new String(buf, start, pos - 1 - start);
+            }
+            if (c == '\\') {
+                return readEscapedString(start);
+            }
+            pos++;
+        }
+        throw syntaxError("string não terminada");
+    }
+
+    private String readEscapedString(int start) throws IOException {
+        StringBuilder sb = new StringBuilder(pos - start + 16);
+        sb.append(buf, start, pos - start);
+        while (pos < limit) {
+            char c = buf[pos++];
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos >= limit) {
+                break;
+            }
+            char escaped = buf[pos++];
+            switch (escaped) {
+                case '"', '\\', '/' -> sb.append(escaped);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > limit) {
+                        throw syntaxError("escape unicode incompleto");
+                    }
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(buf[pos++], 16);
+                        if (digit < 0) {
+                            throw syntaxError("escape unicode inválido");
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    sb.append((char) code);
+                }
+                default -> throw syntaxError("escape inválido '\\" + escaped + "'");
+            }
+        }
+        throw syntaxError("string não terminada");
+    }
+
+    private void skipString() throws IOException {
+        while (pos < limit) {
+            char c = buf[pos++];
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                pos++;
+            }
+        }
+        throw syntaxError("string não terminada");
+    }
+
+    private void skipLiteral() {
+        while (pos < limit) {
+            char c = buf[pos];
+            if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private boolean consumeLiteral(String literal) {
+        int length = literal.length();
+        if (pos + length > limit) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buf[pos + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        pos += length;
+        return true;
+    }
+
+    /**
+     * Cria o erro com a linha e a coluna da posição atual, contadas apenas
+     * quando um erro acontece.
+     */
+    private IOException syntaxError(String message) {
+        int line = 1;
+        int lineStart = 0;
+        int end = Math.min(pos, limit);
+        for (int i = 0; i < end; i++) {
+            if (buf[i] == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        return new IOException("JSON inválido na linha " + line + ", coluna " + (end - lineStart + 1) + ": "
+                + message);
+    }
+}
@@ -0,0 +1,134 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências sem bloqueios, no estilo HDR (log-linear).
+ *
+ * Valores abaixo de 32 ns ocupam um balde cada; acima disso, cada potência de
+ * dois é dividida em 16 baldes, o que limita o erro relativo de qualquer
+ * percentil a cerca de 6%, com memória fixa e independente da quantidade de
+ * amostras. O registro é seguro para várias threads e não aloca memória.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 32; // Valores 0..31 registrados exatamente
+    private static final int SUB_BUCKET_BITS = 4; // 16 baldes por potência de dois
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 42; // ~73 minutos em nanossegundos
+
+    private static final int BUCKET_COUNT = indexOf((1L << (MAX_MAGNITUDE + 1)) - 1) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Registra uma amostra.
+     *
+     * @param nanos duração em nanossegundos (valores negativos contam como zero)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+
+        long currentMax;
+        while (value > (currentMax = maxValue.get())) {
+            if (maxValue.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Copia o conteúdo atual para um novo histograma e zera este, iniciando um
+     * novo intervalo de medição. Amostras registradas durante a cópia podem cair
+     * em qualquer um dos dois intervalos.
+     *
+     * @return histograma com as amostras do intervalo encerrado
+     */
+    public LatencyHistogram snapshotAndReset() {
+        LatencyHistogram snapshot = new LatencyHistogram();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.getAndSet(i, 0);
+            if (count != 0) {
+                snapshot.counts.set(i, count);
+            }
+        }
+        snapshot.totalCount.set(totalCount.getAndSet(0));
+        snapshot.maxValue.set(maxValue.getAndSet(0));
+        return snapshot;
+    }
+
+    /**
+     * @return quantidade de amostras registradas
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return maior valor registrado, em nanossegundos
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Calcula um percentil aproximado (limite superior do balde, nunca acima do
+     * máximo registrado).
+     *
+     * @param percentile percentil entre 0 e 100
+     * @return valor do percentil em nanossegundos, ou 0 se não houver amostras
+     */
+    public long getPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Índice do balde de um valor: linear até 31 e, acima disso, 16 baldes por
+     * potência de dois, usando os 5 bits mais significativos do valor.
+     */
+    private static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_MAGNITUDE);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        if (magnitude == MAX_MAGNITUDE && (value >>> (MAX_MAGNITUDE + 1)) != 0) {
+            subBucket = SUB_BUCKETS - 1; // Valores acima da faixa vão para o último balde
+        }
+        return LINEAR_BUCKETS + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Maior valor que cai no balde informado.
+     */
+    private static long upperBoundOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int offset = index - LINEAR_BUCKETS;
+        int magnitude = offset / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = offset % SUB_BUCKETS;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        long lower = ((long) (SUB_BUCKETS + subBucket)) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -1,13 +1,10 @@
 package utils;
 
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.io.InputStream;
-
-import javax.imageio.ImageIO;
 
 /**
  * Classe utilitária para carregamento seguro de imagens.
+ * As imagens são decodificadas e mantidas em cache pelo {@link AssetManager}.
  */
 public class ObjectImageUtils {
 
@@ -19,13 +16,26 @@ public class ObjectImageUtils {
      * @return A imagem carregada ou null em caso de falha (log já emitido)
      */
     public static BufferedImage loadImage(String path) {
-        try (InputStream is = ObjectImageUtils.class.getResourceAsStream(path)) {
-            if (is == null) {
-                System.err.println("Recurso de imagem não encontrado: " + path);
-                return null;
-            }
-            return ImageIO.read(is);
-        } catch (IOException e) {
+        try {
+            return AssetManager.image(path);
+        } catch (RuntimeException e) {
+            System.err.println("Erro ao carregar imagem: " + path);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Retorna a região do {@link SpriteAtlas} compartilhado com a imagem, já na
+     * escala da tela. Objetos do mesmo tipo compartilham a mesma região.
+     *
+     * @param path Caminho relativo ao diretório de recursos
+     * @return Região do atlas com a imagem, ou null em caso de falha
+     */
+    public static AtlasRegion loadRegion(String path) {
+        try {
+            return AssetManager.region(path);
+        } catch (RuntimeException e) {
             System.err.println("Erro ao carregar imagem: " + path);
             e.printStackTrace();
             return null;
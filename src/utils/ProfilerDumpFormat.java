@@ -0,0 +1,14 @@
+package utils;
+
+/**
+ * Formatos de gravação periódica das métricas do {@link FrameProfiler}.
+ * Selecionado pela propriedade `profiler.dump.format` do `config.properties`.
+ */
+public enum ProfilerDumpFormat {
+    /** Nenhum arquivo é gravado */
+    NONE,
+    /** Uma linha CSV por intervalo, com cabeçalho na criação do arquivo */
+    CSV,
+    /** Um objeto JSON por linha (JSON Lines) por intervalo */
+    JSON
+}
@@ -0,0 +1,131 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Registro de elementos com identificadores (handles) estáveis e inserção e
+ * remoção em O(1).
+ *
+ * Os elementos vivos ficam compactados no início de um vetor denso, de forma
+ * que percorrê-los ({@link #size()} / {@link #get(int)}) não visita posições
+ * vazias; a remoção move o último elemento para a posição liberada.
+ *
+ * Os handles vêm de um {@link HandleAllocator}: combinam uma posição (slot)
+ * estável com a geração do slot, de forma que um handle guardado após a
+ * remoção de seu elemento deixa de ser válido. Como o slot ocupa os bits mais
+ * altos, ordenar handles equivale a ordená-los por slot.
+ *
+ * @param <T> Tipo dos elementos registrados
+ */
+public class Registry<T> {
+
+    /** Handle que não corresponde a nenhum elemento (ex: "nenhuma colisão"). */
+    public static final int NO_HANDLE = HandleAllocator.NO_HANDLE;
+
+    private final HandleAllocator handles = new HandleAllocator("elementos do registro");
+
+    // Armazenamento denso dos elementos vivos, na ordem das posições de handles
+    private Object[] dense = new Object[16];
+
+    /**
+     * Registra um elemento.
+     *
+     * @param element Elemento a ser registrado
+     * @return handle do elemento
+     */
+    public int add(T element) {
+        int handle = handles.allocate();
+        int index = handles.size() - 1;
+        if (index == dense.length) {
+            dense = Arrays.copyOf(dense, index * 2);
+        }
+        dense[index] = element;
+        return handle;
+    }
+
+    /**
+     * Remove o elemento do handle informado. Handles inválidos são ignorados.
+     *
+     * @param handle Handle do elemento
+     * @return true se um elemento foi removido
+     */
+    public boolean remove(int handle) {
+        int index = handles.indexOf(handle);
+        if (index < 0) {
+            return false;
+        }
+
+        // Move o último elemento denso para a posição liberada, como o alocador
+        int last = handles.size() - 1;
+        dense[index] = dense[last];
+        dense[last] = null;
+        handles.freeAt(index);
+        return true;
+    }
+
+    /**
+     * @param handle Handle do elemento
+     * @return elemento do handle, ou null se o handle não for mais válido
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int handle) {
+        int index = handles.indexOf(handle);
+        return index < 0 ? null : (T) dense[index];
+    }
+
+    /**
+     * @param handle Handle a verificar
+     * @return true se o handle corresponde a um elemento vivo
+     */
+    public boolean contains(int handle) {
+        return handles.indexOf(handle) >= 0;
+    }
+
+    /**
+     * @return quantidade de elementos vivos
+     */
+    public int size() {
+        return handles.size();
+    }
+
+    /**
+     * Acesso sequencial aos elementos vivos. A ordem muda após remoções.
+     *
+     * @param index Posição densa, de 0 a {@code size() - 1}
+     * @return elemento naquela posição
+     */
+    @SuppressWarnings("unchecked")
+    public T elementAt(int index) {
+        if (index >= handles.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (T) dense[index];
+    }
+
+    /**
+     * @param index Posição densa, de 0 a {@code size() - 1}
+     * @return handle do elemento naquela posição
+     */
+    public int handleAt(int index) {
+        return handles.handleAt(index);
+    }
+
+    /**
+     * Slot de um handle, identificador inteiro pequeno e estável enquanto o
+     * elemento viver (útil para indexar estruturas auxiliares).
+     *
+     * @param handle Handle do elemento
+     * @return slot do handle
+     */
+    public static int slotOf(int handle) {
+        return HandleAllocator.slotOf(handle);
+    }
+
+    /**
+     * @param slot Slot ocupado
+     * @return handle atual do elemento no slot informado
+     */
+    public int handleOf(int slot) {
+        return handles.handleOf(slot);
+    }
+}
@@ -0,0 +1,227 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Índice espacial em grade uniforme para consultas por região.
+ *
+ * Cada item (identificado por um inteiro não negativo) é registrado na célula
+ * que contém o canto superior esquerdo de sua caixa. As células são
+ * espalhadas em uma tabela de tamanho fixo por hash de suas coordenadas, de
+ * forma que o consumo de memória depende apenas da quantidade de itens e não
+ * do tamanho do mundo. Itens de uma mesma entrada da tabela formam uma lista
+ * duplamente encadeada em vetores primitivos, o que torna inserção, remoção e
+ * movimentação O(1).
+ *
+ * As consultas devolvem candidatos: todos os itens cuja célula de registro
+ * pode conter uma caixa que intercepte a região pedida. O teste exato de
+ * interseção fica a cargo de quem consulta.
+ */
+public class SpatialHash {
+
+    private static final int NONE = -1;
+
+    private final int cellSize; // Lado da célula, em pixels do mundo
+
+    private int[] buckets; // Primeiro item de cada entrada da tabela
+    private int bucketMask;
+
+    // Dados por item, indexados pelo identificador
+    private int[] next;
+    private int[] prev;
+    private int[] cellX;
+    private int[] cellY;
+    private boolean[] present;
+
+    private int size = 0;
+
+    // Maior extensão (em células) de um item já inserido; define a margem das consultas
+    private int maxSpanCells = 1;
+
+    /**
+     * @param cellSize Lado de cada célula da grade, em pixels do mundo
+     */
+    public SpatialHash(int cellSize) {
+        this.cellSize = cellSize;
+        this.buckets = new int[64];
+        this.bucketMask = buckets.length - 1;
+        Arrays.fill(buckets, NONE);
+
+        int capacity = 16;
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.cellX = new int[capacity];
+        this.cellY = new int[capacity];
+        this.present = new boolean[capacity];
+    }
+
+    /**
+     * Registra um item com a caixa informada.
+     *
+     * @param id Identificador do item (não negativo e ainda não registrado)
+     * @param x  Coordenada X do canto superior esquerdo, em pixels do mundo
+     * @param y  Coordenada Y do canto superior esquerdo, em pixels do mundo
+     * @param w  Largura da caixa
+     * @param h  Altura da caixa
+     */
+    public void insert(int id, int x, int y, int w, int h) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Identificador inválido: " + id);
+        }
+        ensureCapacity(id + 1);
+        if (present[id]) {
+            throw new IllegalArgumentException("Item já registrado: " + id);
+        }
+
+        // Quantas células além da de registro a caixa pode alcançar
+        maxSpanCells = Math.max(maxSpanCells, (Math.max(w, h) - 1) / cellSize + 1);
+
+        present[id] = true;
+        size++;
+        link(id, Math.floorDiv(x, cellSize), Math.floorDiv(y, cellSize));
+
+        // Mantém as listas curtas: no máximo um item por entrada, em média
+        if (size > buckets.length) {
+            rehash(buckets.length * 2);
+        }
+    }
+
+    /**
+     * Remove um item registrado. Ignora identificadores ausentes.
+     *
+     * @param id Identificador do item
+     */
+    public void remove(int id) {
+        if (id < 0 || id >= present.length || !present[id]) {
+            return;
+        }
+        unlink(id);
+        present[id] = false;
+        size--;
+    }
+
+    /**
+     * Atualiza a posição de um item registrado, com a caixa do mesmo tamanho.
+     * Só altera a tabela quando o item muda de célula.
+     *
+     * @param id Identificador do item
+     * @param x  Nova coordenada X do canto superior esquerdo
+     * @param y  Nova coordenada Y do canto superior esquerdo
+     */
+    public void move(int id, int x, int y) {
+        if (id < 0 || id >= present.length || !present[id]) {
+            throw new IllegalArgumentException("Item não registrado: " + id);
+        }
+
+        int cx = Math.floorDiv(x, cellSize);
+        int cy = Math.floorDiv(y, cellSize);
+        if (cx != cellX[id] || cy != cellY[id]) {
+            unlink(id);
+            link(id, cx, cy);
+        }
+    }
+
+    /**
+     * Adiciona a {@code out} os itens que podem interceptar a região informada.
+     * Cada item aparece no máximo uma vez.
+     *
+     * @param x   Coordenada X do canto superior esquerdo da região
+     * @param y   Coordenada Y do canto superior esquerdo da região
+     * @param w   Largura da região
+     * @param h   Altura da região
+     * @param out Destino dos identificadores encontrados (não é limpo)
+     */
+    public void query(int x, int y, int w, int h, IntList out) {
+        if (size == 0) {
+            return;
+        }
+
+        // Itens registrados à esquerda/acima da região ainda podem alcançá-la
+        int minCx = Math.floorDiv(x, cellSize) - maxSpanCells;
+        int minCy = Math.floorDiv(y, cellSize) - maxSpanCells;
+        int maxCx = Math.floorDiv(x + w - 1, cellSize);
+        int maxCy = Math.floorDiv(y + h - 1, cellSize);
+
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                // Percorre a lista da entrada, filtrando itens de outras células
+                for (int id = buckets[bucket(cx, cy)]; id != NONE; id = next[id]) {
+                    if (cellX[id] == cx && cellY[id] == cy) {
+                        out.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return quantidade de itens registrados
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove todos os itens.
+     */
+    public void clear() {
+        Arrays.fill(buckets, NONE);
+        Arrays.fill(present, false);
+        size = 0;
+        maxSpanCells = 1;
+    }
+
+    private int bucket(int cx, int cy) {
+        int h = cx * 0x9E3779B1 ^ cy * 0x85EBCA77;
+        return (h ^ (h >>> 16)) & bucketMask;
+    }
+
+    private void link(int id, int cx, int cy) {
+        cellX[id] = cx;
+        cellY[id] = cy;
+
+        int b = bucket(cx, cy);
+        int head = buckets[b];
+        next[id] = head;
+        prev[id] = NONE;
+        if (head != NONE) {
+            prev[head] = id;
+        }
+        buckets[b] = id;
+    }
+
+    private void unlink(int id) {
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            buckets[bucket(cellX[id], cellY[id])] = next[id];
+        }
+        if (next[id] != NONE) {
+            prev[next[id]] = prev[id];
+        }
+    }
+
+    private void rehash(int bucketCount) {
+        buckets = new int[bucketCount];
+        bucketMask = bucketCount - 1;
+        Arrays.fill(buckets, NONE);
+
+        for (int id = 0; id < present.length; id++) {
+            if (present[id]) {
+                link(id, cellX[id], cellY[id]);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= present.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, present.length * 2);
+        next = Arrays.copyOf(next, newCapacity);
+        prev = Arrays.copyOf(prev, newCapacity);
+        cellX = Arrays.copyOf(cellX, newCapacity);
+        cellY = Arrays.copyOf(cellY, newCapacity);
+        present = Arrays.copyOf(present, newCapacity);
+    }
+}
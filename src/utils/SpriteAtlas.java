@@ -0,0 +1,178 @@
+package utils;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.Config;
+
+/**
+ * Atlas de sprites compartilhado por todo o processo.
+ * Tiles, objetos e quadros do jogador são empacotados em páginas de imagem
+ * criadas no formato nativo da tela (via
+ * {@code GraphicsConfiguration.createCompatibleImage}) e já ampliadas por
+ * {@link Config#SCALE}. Os renderizadores desenham sub-regiões dessas páginas,
+ * de modo que nenhuma conversão de cor ou escala em software ocorre durante o
+ * jogo.
+ *
+ * O empacotamento usa prateleiras (shelf packing): cada imagem ocupa o próximo
+ * espaço livre da prateleira atual e, quando não cabe, uma nova prateleira ou
+ * página é aberta.
+ */
+public class SpriteAtlas {
+
+    private static final int PAGE_SIZE = 1024; // Lado mínimo de cada página, em pixels
+    private static final int PADDING = 1; // Espaço entre regiões, evita vazamento ao amostrar
+
+    private static final SpriteAtlas SHARED = new SpriteAtlas(Config.SCALE);
+
+    private final int scale;
+    private final List<BufferedImage> pages = new ArrayList<>();
+
+    // Estado de empacotamento da página atual
+    private BufferedImage currentPage;
+    private int cursorX, cursorY, shelfHeight;
+
+    /**
+     * @param scale Fator aplicado às imagens no momento do empacotamento
+     */
+    public SpriteAtlas(int scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * @return atlas global usado pelos carregadores de recursos do jogo
+     */
+    public static SpriteAtlas shared() {
+        return SHARED;
+    }
+
+    /**
+     * Copia a imagem para o atlas, ampliada pelo fator de escala, e retorna a
+     * região correspondente.
+     *
+     * @param image Imagem original (ex: sprite de 16x16)
+     * @return região do atlas com a imagem já escalada, ou null se a imagem for
+     *         null
+     */
+    public synchronized AtlasRegion add(BufferedImage image) {
+        if (image == null) {
+            return null;
+        }
+
+        int width = image.getWidth() * scale;
+        int height = image.getHeight() * scale;
+        reserve(width, height);
+
+        Graphics2D g2 = currentPage.createGraphics();
+        g2.setComposite(AlphaComposite.Src); // Preserva a transparência original
+        g2.drawImage(image, cursorX, cursorY, width, height, null);
+        g2.dispose();
+
+        AtlasRegion region = new AtlasRegion(currentPage, cursorX, cursorY, width, height);
+        cursorX += width + PADDING;
+        shelfHeight = Math.max(shelfHeight, height);
+        return region;
+    }
+
+    /**
+     * Copia para o atlas uma imagem já ampliada pelo fator deste atlas (ver
+     * {@link #scale(BufferedImage, int)}), sem redimensioná-la.
+     *
+     * @param scaledImage Imagem já na escala da tela
+     * @return região do atlas com a imagem, ou null se a imagem for null
+     */
+    public synchronized AtlasRegion addScaled(BufferedImage scaledImage) {
+        if (scaledImage == null) {
+            return null;
+        }
+
+        int width = scaledImage.getWidth();
+        int height = scaledImage.getHeight();
+        reserve(width, height);
+
+        Graphics2D g2 = currentPage.createGraphics();
+        g2.setComposite(AlphaComposite.Src); // Preserva a transparência original
+        g2.drawImage(scaledImage, cursorX, cursorY, null);
+        g2.dispose();
+
+        AtlasRegion region = new AtlasRegion(currentPage, cursorX, cursorY, width, height);
+        cursorX += width + PADDING;
+        shelfHeight = Math.max(shelfHeight, height);
+        return region;
+    }
+
+    /**
+     * Amplia uma imagem da mesma forma que {@link #add(BufferedImage)}, em uma
+     * imagem ARGB comum (adequada para ser guardada em cache).
+     *
+     * @param image Imagem original
+     * @param scale Fator de ampliação
+     * @return imagem ampliada
+     */
+    public static BufferedImage scale(BufferedImage image, int scale) {
+        int width = image.getWidth() * scale;
+        int height = image.getHeight() * scale;
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g2 = scaled.createGraphics();
+        g2.setComposite(AlphaComposite.Src);
+        g2.drawImage(image, 0, 0, width, height, null);
+        g2.dispose();
+        return scaled;
+    }
+
+    /**
+     * @return fator aplicado às imagens no momento do empacotamento
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * @return quantidade de páginas alocadas até o momento
+     */
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Garante espaço para uma região do tamanho informado, avançando de
+     * prateleira ou abrindo uma nova página quando necessário.
+     */
+    private void reserve(int width, int height) {
+        if (currentPage != null && cursorX + width > currentPage.getWidth()) {
+            cursorX = 0;
+            cursorY += shelfHeight + PADDING;
+            shelfHeight = 0;
+        }
+
+        if (currentPage == null || cursorY + height > currentPage.getHeight()
+                || width > currentPage.getWidth()) {
+            int size = Math.max(PAGE_SIZE, Math.max(width, height));
+            currentPage = createPage(size);
+            pages.add(currentPage);
+            cursorX = 0;
+            cursorY = 0;
+            shelfHeight = 0;
+        }
+    }
+
+    /**
+     * Cria uma página no modelo de cor nativo da tela, ou uma imagem ARGB comum
+     * quando não há display (ex: modo headless).
+     */
+    private static BufferedImage createPage(int size) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration()
+                .createCompatibleImage(size, size, Transparency.TRANSLUCENT);
+    }
+}
@@ -1,77 +1,72 @@
 package utils;
 
-import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-import javax.imageio.ImageIO;
-
 /**
- * Carrega sprites a partir de um JSON leve com formato conhecido, usando apenas
- * Java puro.
+ * Carrega sprites a partir de um JSON que associa cada direção a uma lista de
+ * quadros, lido pelo {@link JsonReader}. As imagens são decodificadas em
+ * paralelo pelo {@link AssetManager} e empacotadas no {@link SpriteAtlas}
+ * compartilhado; elas e os caminhos lidos do JSON ficam guardados no
+ * {@link AssetDiskCache}.
  */
 public class SpriteLoader {
 
+    private static final int FRAMES_MAGIC = 0x415A5346; // "AZSF"
+
     /**
-     * Carrega os sprites de um personagem a partir de um JSON manualmente parseado.
+     * Carrega os sprites de um personagem a partir de um JSON.
      *
      * @param jsonPath caminho do JSON no classpath
      * @param basePath pasta base das imagens (ex: "/res/player/")
-     * @return Mapa com direções (UP, DOWN, LEFT, RIGHT) e arrays de sprites
-     *         carregados
+     * @return Mapa com direções (UP, DOWN, LEFT, RIGHT) e os quadros de cada uma,
+     *         na ordem da animação
      */
-    public static Map<String, BufferedImage[]> loadSprites(String jsonPath, String basePath) {
-        Map<String, BufferedImage[]> spriteMap = new HashMap<>();
+    public static Map<String, AtlasRegion[]> loadSprites(String jsonPath, String basePath) {
+        return loadSprites(jsonPath, basePath, SpriteAtlas.shared());
+    }
+
+    /**
+     * Carrega os sprites de um personagem, empacotando as imagens no atlas
+     * informado.
+     *
+     * @param jsonPath caminho do JSON no classpath
+     * @param basePath pasta base das imagens
+     * @param atlas    atlas que receberá os quadros
+     * @return Mapa com direções e arrays de regiões do atlas carregadas
+     */
+    public static Map<String, AtlasRegion[]> loadSprites(String jsonPath, String basePath, SpriteAtlas atlas) {
+        Map<String, AtlasRegion[]> spriteMap = new HashMap<>();
 
         try {
-            // Valida se o JSON existe
-            InputStream is = SpriteLoader.class.getResourceAsStream(jsonPath);
-            if (is == null) {
-                throw new RuntimeException("Arquivo JSON não encontrado: " + jsonPath);
-            }
+            Map<String, String[]> framePaths = loadFramePaths(jsonPath, basePath);
 
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-
-            String line;
-            String currentDirection = null;
-            BufferedImage[] currentImages = new BufferedImage[2];
-            int imageIndex = 0;
-
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-
-                // Detecta início de chave
-                if (line.startsWith("\"") && line.contains(":")) {
-                    int quoteEnd = line.indexOf("\"", 1);
-                    currentDirection = line.substring(1, quoteEnd).toUpperCase();
-                    imageIndex = 0;
-                } else if (line.contains(".png")) {
-                    // Extrai o nome do arquivo
-                    int start = line.indexOf("\"") + 1;
-                    int end = line.lastIndexOf("\"");
-                    String fileName = line.substring(start, end);
-
-                    // Valida se a imagem existe
-                    InputStream imgStream = SpriteLoader.class.getResourceAsStream(basePath + fileName);
-                    if (imgStream == null) {
-                        throw new RuntimeException("Imagem não encontrada: " + basePath + fileName);
-                    }
-
-                    BufferedImage img = ImageIO.read(imgStream);
-                    currentImages[imageIndex++] = img;
-
-                    // Quando tiver 2 imagens, armazena no mapa
-                    if (imageIndex == 2 && currentDirection != null) {
-                        spriteMap.put(currentDirection, currentImages);
-                        currentImages = new BufferedImage[2]; // reseta array
-                    }
+            // Pede todos os quadros antes de esperar pelo primeiro
+            for (String[] paths : framePaths.values()) {
+                for (String path : paths) {
+                    AssetManager.request(path, atlas.getScale());
                 }
             }
 
-            reader.close();
+            // Empacota os quadros na ordem do arquivo, mantendo o layout do atlas estável
+            for (Map.Entry<String, String[]> entry : framePaths.entrySet()) {
+                String[] paths = entry.getValue();
+                AtlasRegion[] frames = new AtlasRegion[paths.length];
+                for (int i = 0; i < paths.length; i++) {
+                    frames[i] = atlas.addScaled(AssetManager.image(paths[i], atlas.getScale()));
+                }
+                spriteMap.put(entry.getKey(), frames);
+            }
 
         } catch (Exception e) {
             throw new RuntimeException("Erro ao carregar sprites: " + e.getMessage(), e);
@@ -79,4 +74,101 @@ public class SpriteLoader {
 
         return spriteMap;
     }
+
+    /**
+     * Obtém os caminhos dos quadros do cache em disco ou, se o JSON mudou desde
+     * a última leitura, lendo o JSON e atualizando o cache.
+     */
+    private static Map<String, String[]> loadFramePaths(String jsonPath, String basePath) throws IOException {
+        byte[] json = AssetDiskCache.readResource(jsonPath);
+        String key = AssetDiskCache.key("sprites-v2", json, basePath.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String[]> framePaths = readCachedFramePaths(key);
+        if (framePaths == null) {
+            framePaths = parseFramePaths(json, basePath);
+            writeCachedFramePaths(key, framePaths);
+        }
+        return framePaths;
+    }
+
+    /**
+     * Lê do JSON os caminhos dos quadros de cada direção, na ordem do arquivo.
+     * Cada direção pode ter qualquer quantidade (não nula) de quadros.
+     */
+    private static Map<String, String[]> parseFramePaths(byte[] source, String basePath) throws IOException {
+        Map<String, String[]> framePaths = new LinkedHashMap<>();
+
+        JsonReader json = new JsonReader(source);
+        json.beginObject();
+        while (json.hasNext()) {
+            String direction = json.nextName().toUpperCase();
+
+            List<String> paths = new ArrayList<>();
+            json.beginArray();
+            while (json.hasNext()) {
+                paths.add(basePath + json.nextString());
+            }
+            json.endArray();
+
+            if (paths.isEmpty()) {
+                throw new IOException("Direção sem quadros: " + direction);
+            }
+            framePaths.put(direction, paths.toArray(new String[0]));
+        }
+        json.endObject();
+        json.endDocument();
+
+        return framePaths;
+    }
+
+    /**
+     * @return caminhos guardados na entrada do cache, ou null se ausente ou
+     *         inválida
+     */
+    private static Map<String, String[]> readCachedFramePaths(String key) {
+        ByteBuffer data = AssetDiskCache.read(key);
+        if (data == null) {
+            return null;
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != FRAMES_MAGIC) {
+                return null;
+            }
+            int directions = in.readInt();
+            Map<String, String[]> framePaths = new LinkedHashMap<>();
+            for (int d = 0; d < directions; d++) {
+                String direction = in.readUTF();
+                String[] paths = new String[in.readInt()];
+                for (int i = 0; i < paths.length; i++) {
+                    paths[i] = in.readUTF();
+                }
+                framePaths.put(direction, paths);
+            }
+            return in.available() == 0 ? framePaths : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeCachedFramePaths(String key, Map<String, String[]> framePaths) throws IOException {
+        if (!AssetDiskCache.isEnabled()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FRAMES_MAGIC);
+            out.writeInt(framePaths.size());
+            for (Map.Entry<String, String[]> entry : framePaths.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                for (String path : entry.getValue()) {
+                    out.writeUTF(path);
+                }
+            }
+        }
+        AssetDiskCache.write(key, bytes.toByteArray());
+    }
 }
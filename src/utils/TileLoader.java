@@ -1,82 +1,189 @@
 package utils;
 
-import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import javax.imageio.ImageIO;
-
 import tile.Tile;
+import tile.TileRegistry;
 
 /**
  * TileLoader é responsável por carregar os tiles do mundo a partir de um
  * arquivo JSON.
- * Cada tile possui uma imagem e uma configuração opcional de colisão.
+ * Cada tile possui uma imagem (empacotada no {@link SpriteAtlas}) e
+ * configurações opcionais de colisão e animação. As imagens são decodificadas
+ * em paralelo pelo {@link AssetManager}, e tanto elas quanto as definições
+ * lidas do JSON ficam guardadas no {@link AssetDiskCache}.
  */
 public class TileLoader {
 
+    private static final int SPECS_MAGIC = 0x415A5454; // "AZTT"
+
+    /**
+     * Definição de um tile lida do JSON, antes de a imagem ser carregada.
+     */
+    private static class TileSpec {
+        int id;
+        String imagePath;
+        boolean collision;
+        boolean animated;
+    }
+
     /**
-     * Carrega os tiles definidos no JSON e retorna um mapa de índice para Tile.
+     * Carrega os tiles definidos no JSON e retorna o registro indexado pelo
+     * número do tile.
      *
      * @param jsonPath caminho do JSON (classpath)
      * @param basePath pasta onde estão os arquivos de imagem dos tiles
-     * @return Mapa de tiles com índice inteiro como chave
+     * @return Registro dos tipos de tile
      */
-    public static Map<Integer, Tile> loadTiles(String jsonPath, String basePath) {
-        Map<Integer, Tile> tileMap = new HashMap<>();
+    public static TileRegistry loadTiles(String jsonPath, String basePath) {
+        return loadTiles(jsonPath, basePath, SpriteAtlas.shared());
+    }
 
+    /**
+     * Carrega os tiles definidos no JSON, empacotando as imagens no atlas
+     * informado.
+     *
+     * @param jsonPath caminho do JSON (classpath)
+     * @param basePath pasta onde estão os arquivos de imagem dos tiles
+     * @param atlas    atlas que receberá as imagens dos tiles
+     * @return Registro dos tipos de tile
+     */
+    public static TileRegistry loadTiles(String jsonPath, String basePath, SpriteAtlas atlas) {
         try {
-            InputStream is = TileLoader.class.getResourceAsStream(jsonPath);
-            if (is == null) {
-                throw new RuntimeException("Arquivo de tiles JSON não encontrado: " + jsonPath);
+            List<TileSpec> specs = loadSpecs(jsonPath, basePath);
+
+            // Pede todas as imagens antes de esperar pela primeira
+            for (TileSpec spec : specs) {
+                AssetManager.request(spec.imagePath, atlas.getScale());
             }
 
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-            String line;
-            Integer currentId = null;
-            Tile currentTile = null;
-
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-
-                if (line.matches("^\"\\d+\"\\s*:\\s*\\{")) {
-                    int id = Integer.parseInt(line.substring(1, line.indexOf("\"", 1)));
-                    currentTile = new Tile();
-                    currentId = id;
-                } else if (line.contains("\"file\"")) {
-                    String fileName = extractValue(line);
-                    InputStream imgStream = TileLoader.class.getResourceAsStream(basePath + fileName);
-                    if (imgStream == null) {
-                        throw new RuntimeException("Imagem de tile não encontrada: " + basePath + fileName);
-                    }
-                    BufferedImage img = ImageIO.read(imgStream);
-                    currentTile.image = img;
-                } else if (line.contains("\"collision\"")) {
-                    String collisionVal = extractValue(line);
-                    currentTile.collision = Boolean.parseBoolean(collisionVal);
-                } else if (line.contains("}")) {
-                    tileMap.put(currentId, currentTile);
+            // Empacota as imagens na ordem do arquivo, mantendo o layout do atlas estável
+            Map<Integer, Tile> tileMap = new HashMap<>();
+            for (TileSpec spec : specs) {
+                Tile tile = new Tile();
+                tile.image = atlas.addScaled(AssetManager.image(spec.imagePath, atlas.getScale()));
+                tile.collision = spec.collision;
+                tile.animated = spec.animated;
+                if (tileMap.put(spec.id, tile) != null) {
+                    throw new RuntimeException("Tile duplicado: " + spec.id);
                 }
             }
 
-            reader.close();
+            return new TileRegistry(tileMap);
 
         } catch (Exception e) {
             throw new RuntimeException("Erro ao carregar tiles: " + e.getMessage(), e);
         }
+    }
+
+    /**
+     * Obtém as definições dos tiles do cache em disco ou, se o JSON mudou desde
+     * a última leitura, lendo o JSON e atualizando o cache.
+     */
+    private static List<TileSpec> loadSpecs(String jsonPath, String basePath) throws IOException {
+        byte[] json = AssetDiskCache.readResource(jsonPath);
+        String key = AssetDiskCache.key("tiles-v2", json, basePath.getBytes(StandardCharsets.UTF_8));
+
+        List<TileSpec> specs = readCachedSpecs(key);
+        if (specs == null) {
+            specs = parseSpecs(json, basePath);
+            writeCachedSpecs(key, specs);
+        }
+        return specs;
+    }
+
+    /**
+     * Lê as definições dos tiles do JSON, na ordem do arquivo. Propriedades
+     * desconhecidas são ignoradas.
+     */
+    private static List<TileSpec> parseSpecs(byte[] source, String basePath) throws IOException {
+        List<TileSpec> specs = new ArrayList<>();
+
+        JsonReader json = new JsonReader(source);
+        json.beginObject();
+        while (json.hasNext()) {
+            TileSpec spec = new TileSpec();
+            spec.id = json.nextIntName();
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "file" -> spec.imagePath = basePath + json.nextString();
+                    case "collision" -> spec.collision = json.nextBoolean();
+                    case "animated" -> spec.animated = json.nextBoolean();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+
+            if (spec.imagePath == null) {
+                throw new IOException("Tile " + spec.id + " sem imagem");
+            }
+            specs.add(spec);
+        }
+        json.endObject();
+        json.endDocument();
 
-        return tileMap;
+        return specs;
     }
 
     /**
-     * Extrai valor de string JSON no formato: "chave": valor
+     * @return definições guardadas na entrada do cache, ou null se ausente ou
+     *         inválida
      */
-    private static String extractValue(String line) {
-        int start = line.indexOf(":") + 1;
-        String value = line.substring(start).replace("\"", "").replace(",", "").trim();
-        return value;
+    private static List<TileSpec> readCachedSpecs(String key) {
+        ByteBuffer data = AssetDiskCache.read(key);
+        if (data == null) {
+            return null;
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != SPECS_MAGIC) {
+                return null;
+            }
+            int count = in.readInt();
+            List<TileSpec> specs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                TileSpec spec = new TileSpec();
+                spec.id = in.readInt();
+                spec.imagePath = in.readUTF();
+                spec.collision = in.readBoolean();
+                spec.animated = in.readBoolean();
+                specs.add(spec);
+            }
+            return in.available() == 0 ? specs : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeCachedSpecs(String key, List<TileSpec> specs) throws IOException {
+        if (!AssetDiskCache.isEnabled()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(SPECS_MAGIC);
+            out.writeInt(specs.size());
+            for (TileSpec spec : specs) {
+                out.writeInt(spec.id);
+                out.writeUTF(spec.imagePath);
+                out.writeBoolean(spec.collision);
+                out.writeBoolean(spec.animated);
+            }
+        }
+        AssetDiskCache.write(key, bytes.toByteArray());
     }
 }